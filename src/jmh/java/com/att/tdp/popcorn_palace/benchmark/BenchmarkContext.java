@@ -0,0 +1,29 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.PopcornPalaceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+// Boots the application without a web server against a private in-memory H2 database, using the
+// test configuration (schema scripts, overlap trigger) with SQL logging and statistics turned off
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                                + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "popcorn-palace.hibernate-statistics=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Single-seat and ten-seat bookings on one showtime, each invocation taking seats nobody holds yet
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingBenchmark {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int SEED_CHUNK = 1000;
+
+    // popcorn-palace.booking.group-commit-window; 0ms writes on the caller's thread
+    @Param({"0ms", "500us"})
+    public String groupCommitWindow;
+
+    // Tickets already sold for the showtime before the trial starts
+    @Param({"0", "10000"})
+    public int bookedSeats;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private Long showtimeId;
+    private final AtomicInteger lastSeat = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("popcorn-palace.booking.group-commit-window=" + groupCommitWindow);
+        ticketService = context.getBean(TicketService.class);
+
+        final Movie movie = context.getBean(MovieRepository.class).save(Movie.builder()
+                .title("Booking Benchmark")
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2020)
+                .build());
+        showtimeId = context.getBean(ShowtimeRepository.class).save(Showtime.builder()
+                .movieId(movie.getId())
+                .theater("Benchmark Hall")
+                .startTime(LocalDateTime.of(2040, 1, 1, 18, 0))
+                .endTime(LocalDateTime.of(2040, 1, 1, 20, 0))
+                .price(40.0f)
+                .build()).getId();
+
+        final TicketRepository ticketRepository = context.getBean(TicketRepository.class);
+        final BookingIdGenerator bookingIdGenerator = context.getBean(BookingIdGenerator.class);
+        for (int first = 1; first <= bookedSeats; first += SEED_CHUNK) {
+            final List<Ticket> tickets = new ArrayList<>(SEED_CHUNK);
+            for (int seat = first; seat < first + SEED_CHUNK && seat <= bookedSeats; seat++) {
+                tickets.add(Ticket.builder()
+                        .showtimeId(showtimeId)
+                        .seatNumber(seat)
+                        .userId("seed-user")
+                        .bookingId(bookingIdGenerator.nextId())
+                        .build());
+            }
+            ticketRepository.insertAll(tickets);
+        }
+        lastSeat.set(bookedSeats);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketResponseDto bookTicket() {
+        return ticketService.bookTicket(new TicketRequestDto(showtimeId, lastSeat.incrementAndGet(), "bench-user"));
+    }
+
+    @Benchmark
+    public BatchTicketResponseDto bookTenTickets() {
+        final int first = lastSeat.getAndAdd(BATCH_SIZE) + 1;
+        return ticketService.bookTickets(BatchTicketRequestDto.builder()
+                .showtimeId(showtimeId)
+                .seatNumbers(IntStream.range(first, first + BATCH_SIZE).boxed().toList())
+                .userId("bench-user")
+                .build());
+    }
+}
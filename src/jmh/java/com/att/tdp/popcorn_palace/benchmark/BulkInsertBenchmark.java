@@ -0,0 +1,124 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bulk inserts of movies, showtimes and tickets, before and after JDBC batching. A batch size of 1
+// sends one INSERT per row, the round trips the old IDENTITY ids forced; 50 is the configured size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BulkInsertBenchmark {
+
+    // hibernate.jdbc.batch_size
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    // Rows written by one invocation, in one transaction
+    @Param({"500"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private MovieRepository movieRepository;
+    private ShowtimeRepository showtimeRepository;
+    private TicketRepository ticketRepository;
+    private BookingIdGenerator bookingIdGenerator;
+    private Long movieId;
+    private Long showtimeId;
+    private final AtomicInteger invocation = new AtomicInteger();
+    private final AtomicInteger lastSeat = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        movieRepository = context.getBean(MovieRepository.class);
+        showtimeRepository = context.getBean(ShowtimeRepository.class);
+        ticketRepository = context.getBean(TicketRepository.class);
+        bookingIdGenerator = context.getBean(BookingIdGenerator.class);
+
+        movieId = movieRepository.save(Movie.builder()
+                .title("Bulk Insert Benchmark")
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2020)
+                .build()).getId();
+        showtimeId = showtimeRepository.save(Showtime.builder()
+                .movieId(movieId)
+                .theater("Benchmark Hall")
+                .startTime(LocalDateTime.of(2040, 1, 1, 18, 0))
+                .endTime(LocalDateTime.of(2040, 1, 1, 20, 0))
+                .price(40.0f)
+                .build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Movie> insertMovies() {
+        final int batch = invocation.incrementAndGet();
+        final List<Movie> movies = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            movies.add(Movie.builder()
+                    .title("Bulk Movie " + batch + "-" + i)
+                    .genre("Drama")
+                    .duration(100)
+                    .rating(7.0)
+                    .releaseYear(2024)
+                    .build());
+        }
+        return movieRepository.saveAll(movies);
+    }
+
+    // Back-to-back screenings in a theater of their own, so the overlap checks always pass
+    @Benchmark
+    public List<Showtime> insertShowtimes() {
+        final String theater = "Bulk Hall " + invocation.incrementAndGet();
+        final LocalDateTime first = LocalDateTime.of(2041, 1, 1, 0, 0);
+        final List<Showtime> showtimes = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            showtimes.add(Showtime.builder()
+                    .movieId(movieId)
+                    .theater(theater)
+                    .startTime(first.plusHours(3L * i))
+                    .endTime(first.plusHours(3L * i + 2))
+                    .price(40.0f)
+                    .build());
+        }
+        return showtimeRepository.saveAll(showtimes);
+    }
+
+    @Benchmark
+    public List<Ticket> insertTickets() {
+        final int first = lastSeat.getAndAdd(rows) + 1;
+        final List<Ticket> tickets = new ArrayList<>(rows);
+        for (int seat = first; seat < first + rows; seat++) {
+            tickets.add(Ticket.builder()
+                    .showtimeId(showtimeId)
+                    .seatNumber(seat)
+                    .userId("bench-user")
+                    .bookingId(bookingIdGenerator.nextId())
+                    .build());
+        }
+        ticketRepository.insertAll(tickets);
+        return tickets;
+    }
+}
@@ -0,0 +1,85 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON conversion of the DTOs on the hot endpoints, configured the way Spring Boot configures Jackson
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoConversionBenchmark {
+
+    @Param({"100", "10000"})
+    public int movies;
+
+    private ObjectMapper objectMapper;
+    private List<MovieResponseDto> catalog;
+    private ShowtimeResponseDto showtime;
+    private String showtimeRequestJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        catalog = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            catalog.add(MovieResponseDto.builder()
+                    .id((long) i)
+                    .title("Movie " + i)
+                    .genre("Drama")
+                    .duration(120)
+                    .rating(7.5)
+                    .releaseYear(2020)
+                    .build());
+        }
+
+        final LocalDateTime start = LocalDateTime.of(2040, 1, 1, 18, 0);
+        showtime = ShowtimeResponseDto.builder()
+                .id(1L)
+                .theater("Hall 1")
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .price(40.0f)
+                .movieTitle("Movie 1")
+                .movieReleaseYear(2020)
+                .build();
+        showtimeRequestJson = objectMapper.writeValueAsString(ShowtimeRequestDto.builder()
+                .movieId(1L)
+                .theater("Hall 1")
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .price(40.0f)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] writeCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] writeShowtime() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(showtime);
+    }
+
+    @Benchmark
+    public ShowtimeRequestDto readShowtimeRequest() throws JsonProcessingException {
+        return objectMapper.readValue(showtimeRequestJson, ShowtimeRequestDto.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.config.CacheConfig;
+import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Catalog reads with and without the cache in front of them, and movie creation, by catalog size.
+// addMovie's duplicate check is an index probe, so its latency should stay flat from 1k to 1M movies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MovieCatalogBenchmark {
+
+    private static final int SEED_CHUNK = 10_000;
+
+    // The 1M catalog needs the larger fork heap: H2 keeps it in memory and the uncached read
+    // materializes every row
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int movies;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private Cache catalogCache;
+    private final AtomicLong nextTitle = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        movieService = context.getBean(MovieService.class);
+        catalogCache = context.getBean(CacheManager.class).getCache(CacheConfig.MOVIE_CATALOG);
+
+        // One transaction per chunk keeps the persistence context small at a million rows
+        final MovieRepository movieRepository = context.getBean(MovieRepository.class);
+        for (int first = 0; first < movies; first += SEED_CHUNK) {
+            final List<Movie> seeded = new ArrayList<>(SEED_CHUNK);
+            for (int i = first; i < first + SEED_CHUNK && i < movies; i++) {
+                seeded.add(Movie.builder()
+                        .title("Seeded Movie " + i)
+                        .genre(i % 2 == 0 ? "Drama" : "Comedy")
+                        .duration(90 + i % 60)
+                        .rating(5.0 + i % 5)
+                        .releaseYear(1980 + i % 45)
+                        .build());
+            }
+            movieRepository.saveAll(seeded);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MovieResponseDto> getAllMoviesCached() {
+        return movieService.getAllMovies();
+    }
+
+    // Query plus entity-to-DTO conversion of the whole catalog
+    @Benchmark
+    public List<MovieResponseDto> getAllMoviesUncached() {
+        catalogCache.clear();
+        return movieService.getAllMovies();
+    }
+
+    @Benchmark
+    public MovieResponseDto addMovie() {
+        return movieService.addMovie(MovieRequestDto.builder()
+                .title("Benchmark Movie " + nextTitle.incrementAndGet())
+                .genre("Drama")
+                .duration(100)
+                .rating(7.5)
+                .releaseYear(2024)
+                .build());
+    }
+}
@@ -0,0 +1,117 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Showtime creation and the overlap check in front of it, against a theater schedule of growing size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ShowtimeBenchmark {
+
+    private static final int THEATERS = 20;
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2040, 1, 1, 10, 0);
+
+    // Existing showtimes, spread round-robin over the theaters in back-to-back three-hour slots
+    @Param({"100", "10000"})
+    public int showtimes;
+
+    private ConfigurableApplicationContext context;
+    private ShowtimeService showtimeService;
+    private ShowtimeOverlapIndex overlapIndex;
+    private Long movieId;
+    private ShowtimeRequestDto conflictingRequest;
+    private LocalDateTime probeStart;
+    private final AtomicLong nextFreeSlot = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        showtimeService = context.getBean(ShowtimeService.class);
+        overlapIndex = context.getBean(ShowtimeOverlapIndex.class);
+
+        movieId = context.getBean(MovieRepository.class).save(Movie.builder()
+                .title("Showtime Benchmark")
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2020)
+                .build()).getId();
+
+        final List<Showtime> seeded = new ArrayList<>(showtimes);
+        for (int i = 0; i < showtimes; i++) {
+            final LocalDateTime start = FIRST_SLOT.plusHours(3L * (i / THEATERS));
+            seeded.add(Showtime.builder()
+                    .movieId(movieId)
+                    .theater("Hall " + (i % THEATERS))
+                    .startTime(start)
+                    .endTime(start.plusHours(2))
+                    .price(40.0f)
+                    .build());
+        }
+        context.getBean(ShowtimeRepository.class).saveAll(seeded);
+        showtimeService.loadOverlapIndex();
+
+        // Starts inside the very first seeded showtime of Hall 0
+        conflictingRequest = request("Hall 0", FIRST_SLOT.plusMinutes(30));
+        // The gap after a slot in the middle of Hall 7's schedule
+        probeStart = FIRST_SLOT.plusHours(3L * (showtimes / THEATERS / 2)).plusMinutes(150);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<ShowtimeSlotDto> findOverlap() {
+        return overlapIndex.findOverlap(null, "Hall 7", probeStart, probeStart.plusMinutes(20));
+    }
+
+    // Movie lookup, validation and the overlap check, rejected before anything is written
+    @Benchmark
+    public AppException addShowtimeConflicting() {
+        try {
+            showtimeService.addShowtime(conflictingRequest);
+        } catch (AppException e) {
+            return e;
+        }
+        throw new IllegalStateException("Expected the request to conflict");
+    }
+
+    // Each invocation takes the next free slot in a theater of its own
+    @Benchmark
+    public ShowtimeResponseDto addShowtime() {
+        final LocalDateTime start = FIRST_SLOT.plusYears(10).plusHours(3 * nextFreeSlot.getAndIncrement());
+        return showtimeService.addShowtime(request("Benchmark Hall", start));
+    }
+
+    private ShowtimeRequestDto request(String theater, LocalDateTime start) {
+        return ShowtimeRequestDto.builder()
+                .movieId(movieId)
+                .theater(theater)
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .price(40.0f)
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.att.tdp.popcorn_palace.benchmark;
+
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.SnowflakeBookingIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ticket insert throughput with the booking_id column as a random UUID string (before) and as a
+// time-ordered bigint (after). Both write a copy of the tickets table with its unique indexes, so
+// the booking id type and the order its index is filled in are the only differences
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TicketInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int SEED_CHUNK = 1000;
+
+    @Param({"uuid", "bigint"})
+    public String bookingIdType;
+
+    // Tickets in the table before the trial starts; random keys hurt more as the index grows
+    @Param({"0", "100000"})
+    public int existingTickets;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private final BookingIdGenerator bookingIdGenerator = new SnowflakeBookingIdGenerator(0);
+    private final AtomicInteger lastTicket = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        final String bookingIdColumn = "uuid".equals(bookingIdType) ? "varchar(36)" : "bigint";
+        jdbcTemplate.execute("CREATE TABLE bench_tickets (id bigint PRIMARY KEY, showtime_id bigint NOT NULL, "
+                + "seat_number integer NOT NULL, user_id varchar(255) NOT NULL, "
+                + "booking_id " + bookingIdColumn + " NOT NULL UNIQUE, UNIQUE (showtime_id, seat_number))");
+        for (int seeded = 0; seeded < existingTickets; seeded += SEED_CHUNK) {
+            insert(Math.min(SEED_CHUNK, existingTickets - seeded));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // One group commit's worth of tickets: a batched INSERT and a commit
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertTickets() {
+        insert(BATCH_SIZE);
+    }
+
+    private void insert(int count) {
+        final int first = lastTicket.getAndAdd(count) + 1;
+        final List<Object[]> rows = new ArrayList<>(count);
+        for (int ticket = first; ticket < first + count; ticket++) {
+            rows.add(new Object[]{ticket, 1L + ticket / 10_000, ticket % 10_000, "bench-user", nextBookingId()});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO bench_tickets (id, showtime_id, seat_number, user_id, booking_id) "
+                        + "VALUES (?, ?, ?, ?, ?)", rows));
+    }
+
+    private Object nextBookingId() {
+        return "uuid".equals(bookingIdType) ? UUID.randomUUID().toString() : bookingIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,214 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import com.att.tdp.popcorn_palace.PopcornPalaceApplication;
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Boots the application on a random port against a private in-memory H2 database, seeds it and
+// replays HTTP scenarios at a fixed arrival rate. With several booking or thread modes the whole
+// run is repeated on a fresh application per combination so they can be compared side by side.
+//
+// Options (all --name=value): rate (requests/s, default 200), duration (default 20s),
+// warmup (default 10s, read-only scenarios, not recorded), scenarios (catalog,showtimes,seats),
+// booking-modes (direct), thread-modes (platform, virtual for spring.threads.virtual.enabled, or
+// reactive for the read-only WebFlux profile, which skips the seats scenario),
+// movies (1000), showtimes (200), seats (500). Histograms are written to
+// target/loadtest/<booking mode>-<thread mode>-<scenario>.hgrm
+public final class LoadTest {
+
+    private static final Path HISTOGRAM_DIR = Path.of("target", "loadtest");
+    private static final int THEATERS = 20;
+
+    private record Options(int rate, Duration duration, Duration warmup, List<String> scenarios,
+                           List<String> bookingModes, List<String> threadModes,
+                           int movies, int showtimes, int seats) {
+
+        static Options parse(String[] args) {
+            final Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            return new Options(
+                    Integer.parseInt(values.getOrDefault("rate", "200")),
+                    DurationStyle.detectAndParse(values.getOrDefault("duration", "20s")),
+                    DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                    List.of(values.getOrDefault("scenarios", "catalog,showtimes,seats").split(",")),
+                    List.of(values.getOrDefault("booking-modes", "direct").split(",")),
+                    List.of(values.getOrDefault("thread-modes", "platform").split(",")),
+                    Integer.parseInt(values.getOrDefault("movies", "1000")),
+                    Integer.parseInt(values.getOrDefault("showtimes", "200")),
+                    Integer.parseInt(values.getOrDefault("seats", "500")));
+        }
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Options options = Options.parse(args);
+        for (String bookingMode : options.bookingModes()) {
+            for (String threadMode : options.threadModes()) {
+                if (!List.of("platform", "virtual", "reactive").contains(threadMode)) {
+                    throw new IllegalArgumentException("Unknown thread mode '" + threadMode + "'");
+                }
+                try (ConfigurableApplicationContext context = start(bookingMode, threadMode)) {
+                    run(context, bookingMode + "-" + threadMode, options);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String bookingMode, String threadMode) {
+        // Passed as arguments so they win over application.yml
+        final String database = "loadtest-" + UUID.randomUUID();
+        return new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN",
+                        "--popcorn-palace.booking.mode=" + bookingMode,
+                        "--spring.threads.virtual.enabled=" + threadMode.equals("virtual"),
+                        // Ignored outside the reactive profile; R2DBC reads the same in-memory database
+                        "--spring.profiles.active=" + (threadMode.equals("reactive") ? "reactive" : "default"),
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+    }
+
+    private static void run(ConfigurableApplicationContext context, String mode, Options options)
+            throws IOException {
+        final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        final String baseUrl = "http://localhost:" + port;
+        final ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        // Seed through the repositories; only the measured traffic goes over HTTP
+        final Long movieId = seedMovies(context.getBean(MovieRepository.class), options.movies());
+        final ShowtimeRepository showtimeRepository = context.getBean(ShowtimeRepository.class);
+        final List<Long> showtimeIds = seedShowtimes(showtimeRepository, movieId, options.showtimes());
+        final Long raceShowtimeId = showtimeRepository.save(showtime(movieId, "On-sale Hall",
+                LocalDateTime.of(2040, 1, 1, 20, 0))).getId();
+
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        final OpenModelLoadGenerator generator = new OpenModelLoadGenerator(httpClient, objectMapper);
+
+        final Scenario catalog = new Scenario("catalog", i -> get(baseUrl + "/movies/all"));
+        final Scenario showtimes = new Scenario("showtimes",
+                i -> get(baseUrl + "/showtimes/" + showtimeIds.get((int) (i % showtimeIds.size()))));
+        // Every arrival is a different user going for a random seat of the same showtime
+        final Scenario seats = new Scenario("seats", i -> post(baseUrl + "/bookings", objectMapper,
+                new TicketRequestDto(raceShowtimeId, ThreadLocalRandom.current().nextInt(1, options.seats() + 1),
+                        "user-" + i)));
+
+        // Let the JIT and the caches settle first; only reads, so the seat race starts from empty
+        if (!options.warmup().isZero()) {
+            generator.run(catalog, options.rate(), options.warmup().dividedBy(2));
+            generator.run(showtimes, options.rate(), options.warmup().dividedBy(2));
+        }
+
+        System.out.printf("%n== %s: %d req/s for %s per scenario ==%n",
+                mode, options.rate(), options.duration());
+        for (String name : options.scenarios()) {
+            if (name.equals("seats") && mode.endsWith("-reactive")) {
+                System.out.printf("%-10s skipped, the reactive profile serves no bookings%n", name);
+                continue;
+            }
+            final Scenario scenario = switch (name) {
+                case "catalog" -> catalog;
+                case "showtimes" -> showtimes;
+                case "seats" -> seats;
+                default -> throw new IllegalArgumentException("Unknown scenario '" + name + "'");
+            };
+
+            final ScenarioResult result = generator.run(scenario, options.rate(), options.duration());
+            result.print(System.out);
+            result.writeHistogram(HISTOGRAM_DIR.resolve(mode + "-" + name + ".hgrm"));
+
+            if (name.equals("seats")) {
+                final int sold = context.getBean(TicketRepository.class)
+                        .findSeatNumbersByShowtimeId(raceShowtimeId).size();
+                System.out.printf("%-10s seats sold=%d of %d, %s%n", "", sold, options.seats(),
+                        sold == result.succeeded() ? "every success is exactly one ticket"
+                                : "MISMATCH with " + result.succeeded() + " successful bookings");
+            }
+        }
+    }
+
+    private static Long seedMovies(MovieRepository movieRepository, int count) {
+        final List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            movies.add(Movie.builder()
+                    .title("Load Test Movie " + i)
+                    .genre(i % 2 == 0 ? "Drama" : "Comedy")
+                    .duration(90 + i % 60)
+                    .rating(5.0 + i % 5)
+                    .releaseYear(1980 + i % 45)
+                    .build());
+        }
+        return movieRepository.saveAll(movies).get(0).getId();
+    }
+
+    private static List<Long> seedShowtimes(ShowtimeRepository showtimeRepository, Long movieId, int count) {
+        final List<Showtime> showtimes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            showtimes.add(showtime(movieId, "Hall " + (i % THEATERS),
+                    LocalDateTime.of(2040, 1, 1, 10, 0).plusHours(3L * (i / THEATERS))));
+        }
+        return showtimeRepository.saveAll(showtimes).stream().map(Showtime::getId).toList();
+    }
+
+    private static Showtime showtime(Long movieId, String theater, LocalDateTime start) {
+        return Showtime.builder()
+                .movieId(movieId)
+                .theater(theater)
+                .startTime(start)
+                .endTime(start.plusHours(2))
+                .price(40.0f)
+                .build();
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, ObjectMapper objectMapper, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
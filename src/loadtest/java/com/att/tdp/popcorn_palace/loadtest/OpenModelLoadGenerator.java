@@ -0,0 +1,77 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Open workload model: requests start on a fixed schedule whatever the server's response times,
+// each on its own virtual thread. Latency is measured from the scheduled start rather than the
+// actual send, so a stalled server shows up as queueing delay instead of quietly lowering the load
+final class OpenModelLoadGenerator {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    OpenModelLoadGenerator(HttpClient httpClient, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    ScenarioResult run(Scenario scenario, int ratePerSecond, Duration duration) {
+        final ScenarioResult result = new ScenarioResult(scenario.name());
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        final long arrivals = duration.toNanos() / intervalNanos;
+
+        final long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < arrivals; i++) {
+                final long scheduled = start + i * intervalNanos;
+                final long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                final HttpRequest request = scenario.requests().apply(i);
+                clients.submit(() -> send(request, scheduled, result));
+            }
+        }
+        // Closing the executor waited for the requests still in flight
+        result.finish(System.nanoTime() - start);
+        return result;
+    }
+
+    private void send(HttpRequest request, long scheduled, ScenarioResult result) {
+        String errorType;
+        try {
+            final HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            errorType = response.statusCode() < 400 ? null : errorType(response);
+        } catch (IOException e) {
+            errorType = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorType = "Interrupted";
+        }
+        result.record(System.nanoTime() - scheduled, errorType);
+    }
+
+    // The ErrorType the API reports, or the status for errors raised outside AppException
+    private String errorType(HttpResponse<String> response) {
+        try {
+            final String errorType = objectMapper.readTree(response.body()).path("errorType").asText("");
+            if (!errorType.isEmpty()) {
+                return errorType;
+            }
+        } catch (JsonProcessingException e) {
+            // Not a JSON error body; fall back to the status
+        }
+        return "HTTP " + response.statusCode();
+    }
+}
@@ -0,0 +1,8 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.LongFunction;
+
+// A named stream of requests; the argument is the request's sequence number within the run
+record Scenario(String name, LongFunction<HttpRequest> requests) {
+}
@@ -0,0 +1,72 @@
+package com.att.tdp.popcorn_palace.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies and outcomes of one scenario run, recorded concurrently by the client threads
+final class ScenarioResult {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    ScenarioResult(String name) {
+        this.name = name;
+    }
+
+    // errorType is null for a successful response
+    void record(long latencyNanos, String errorType) {
+        latencies.recordValue(latencyNanos);
+        if (errorType == null) {
+            succeeded.increment();
+        } else {
+            errors.computeIfAbsent(errorType, key -> new LongAdder()).increment();
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    void print(PrintStream out) {
+        final long requests = latencies.getTotalCount();
+        out.printf("%-10s requests=%d ok=%d throughput=%.1f req/s%n", name, requests, succeeded(),
+                requests / (elapsedNanos / 1e9));
+        out.printf("%-10s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n", "",
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+        errors.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .forEach(entry -> out.printf("%-10s %s=%d%n", "", entry.getKey(), entry.getValue().sum()));
+    }
+
+    // Full percentile distribution in milliseconds, in the .hgrm format HdrHistogram's plotters read
+    void writeHistogram(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -1,22 +1,49 @@
 package com.att.tdp.popcorn_palace.Advice;
 
 import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.Exception.ShowtimeScheduleConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
 public class ExceptionHandlerApp {
 
+    static final String ERRORS_METRIC = "api.errors";
+
+    // One counter per ErrorType, registered up front so counting an error is a map lookup
+    private final Map<ErrorType, Counter> errorCounters = new EnumMap<>(ErrorType.class);
+
+    // Slice tests without metrics get Micrometer's global registry, which records nothing
+    public ExceptionHandlerApp(ObjectProvider<MeterRegistry> meterRegistry) {
+        final MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        for (ErrorType errorType : ErrorType.values()) {
+            errorCounters.put(errorType, Counter.builder(ERRORS_METRIC)
+                    .description("Error responses by errorType")
+                    .tag("errorType", errorType.name())
+                    .register(registry));
+        }
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException exception) {
+        errorCounters.get(ErrorType.VALIDATION_ERROR).increment();
         final Map<String, String> validationErrors = new HashMap<>();
         exception.getBindingResult().getFieldErrors().forEach(error -> {
             validationErrors.put(error.getField(), error.getDefaultMessage());
@@ -31,6 +58,7 @@ public class ExceptionHandlerApp {
 
     @ExceptionHandler(AppException.class)
     public ResponseEntity<Map<String, Object>> handleAppException(AppException exception) {
+        errorCounters.get(exception.getErrorType()).increment();
         final Map<String, Object> error = new HashMap<>();
         error.put("message", exception.getMessage());
         error.put("status", exception.getStatus().value());
@@ -42,8 +70,44 @@ public class ExceptionHandlerApp {
         return new ResponseEntity<>(error, exception.getStatus());
     }
 
+    @ExceptionHandler(ShowtimeScheduleConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleScheduleConflict(ShowtimeScheduleConflictException exception) {
+        final ResponseEntity<Map<String, Object>> response = handleAppException(exception);
+        response.getBody().put("conflicts", exception.getConflicts());
+        return response;
+    }
+
+    // Two writes raced on the same movie or showtime row (@Version); the client retries on fresh data
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return handleAppException(new AppException(
+                "The resource was modified concurrently, reload it and retry",
+                HttpStatus.CONFLICT,
+                ErrorType.CONCURRENT_UPDATE
+        ));
+    }
+
+    // WebFlux reports routing failures (unmapped path, wrong method) as exceptions carrying their own
+    // status, so a write against the read-only reactive profile is a 404 rather than a server error
+    @ExceptionHandler(ErrorResponseException.class)
+    public ResponseEntity<Map<String, Object>> handleErrorResponseException(ErrorResponseException ex) {
+        final HttpStatusCode status = ex.getStatusCode();
+        final ErrorType errorType = status.is5xxServerError()
+                ? ErrorType.INTERNAL_SERVER_ERROR
+                : ErrorType.UNSUPPORTED_REQUEST;
+        errorCounters.get(errorType).increment();
+        final Map<String, Object> error = new HashMap<>();
+        error.put("message", ex.getBody().getDetail());
+        error.put("errorType", errorType.name());
+        error.put("exceptionType", ex.getClass().getSimpleName());
+        error.put("status", status.value());
+
+        return new ResponseEntity<>(error, status);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleOtherExceptions(Exception ex) {
+        errorCounters.get(ErrorType.INTERNAL_SERVER_ERROR).increment();
         final Map<String, Object> error = new HashMap<>();
         error.put("message", ex.getMessage() != null ? ex.getMessage() : "Unexpected error occurred");
         error.put("exceptionType", ex.getClass().getSimpleName());
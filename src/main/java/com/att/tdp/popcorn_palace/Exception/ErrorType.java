@@ -8,5 +8,7 @@ public enum ErrorType {
     SHOWTIME_HAS_TICKETS,
     OVERLAPPING_SHOWTIME,
     VALIDATION_ERROR,
-    INVALID_SHOWTIME, INTERNAL_SERVER_ERROR, SEAT_ALREADY_BOOKED
+    INVALID_SHOWTIME, INTERNAL_SERVER_ERROR, SEAT_ALREADY_BOOKED,
+    HOLD_NOT_FOUND, SERVER_BUSY, UNSUPPORTED_REQUEST,
+    CONCURRENT_UPDATE
 }
@@ -0,0 +1,20 @@
+package com.att.tdp.popcorn_palace.Exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Set;
+
+// Tickets were written for showtimes that are deleted or soft-deleted; none of them were inserted
+public class ShowtimeNotActiveException extends DataIntegrityViolationException {
+
+    private final Set<Long> showtimeIds;
+
+    public ShowtimeNotActiveException(Set<Long> showtimeIds) {
+        super("Showtimes " + showtimeIds + " are no longer active");
+        this.showtimeIds = Set.copyOf(showtimeIds);
+    }
+
+    public Set<Long> getShowtimeIds() {
+        return showtimeIds;
+    }
+}
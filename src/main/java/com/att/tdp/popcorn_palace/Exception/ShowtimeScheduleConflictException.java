@@ -0,0 +1,24 @@
+package com.att.tdp.popcorn_palace.Exception;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeConflictDto;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+// Carries every conflict found in a schedule so the client can fix them all in one go
+public class ShowtimeScheduleConflictException extends AppException {
+
+    private final List<ShowtimeConflictDto> conflicts;
+
+    public ShowtimeScheduleConflictException(String theater, List<ShowtimeConflictDto> conflicts) {
+        super("The schedule has " + conflicts.size() + " showtime(s) overlapping other showtimes in theater '"
+                        + theater + "'",
+                HttpStatus.CONFLICT,
+                ErrorType.OVERLAPPING_SHOWTIME);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<ShowtimeConflictDto> getConflicts() {
+        return conflicts;
+    }
+}
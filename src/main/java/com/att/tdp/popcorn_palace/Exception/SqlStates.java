@@ -0,0 +1,59 @@
+package com.att.tdp.popcorn_palace.Exception;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Identifies which database constraint rejected a write, from the SQL state in the cause chain
+public final class SqlStates {
+
+    public static final String UNIQUE_VIOLATION = "23505";
+    public static final String EXCLUSION_VIOLATION = "23P01";
+    // Raised by the tickets_require_active_showtime trigger as 'showtime_not_active:<id>'
+    public static final String SHOWTIME_NOT_ACTIVE = "PP001";
+    // Raised by the showtimes_require_active_movie trigger as 'movie_not_active:<id>'
+    public static final String MOVIE_NOT_ACTIVE = "PP002";
+
+    private static final Pattern INACTIVE_SHOWTIME = Pattern.compile("showtime_not_active:(\\d+)");
+
+    private SqlStates() {
+    }
+
+    public static boolean hasSqlState(Throwable throwable, String sqlState) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlState.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether the named unique constraint rejected the write. The name is looked up in the driver
+    // message: PostgreSQL quotes it as is, H2 upper-cases it and appends an index suffix
+    public static boolean isUniqueViolation(Throwable throwable, String constraintName) {
+        final String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())
+                    && sqlException.getMessage() != null
+                    && sqlException.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The showtime a ticket insert was rejected for because it is deleted, or null for any other failure
+    public static Long inactiveShowtimeId(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && SHOWTIME_NOT_ACTIVE.equals(sqlException.getSQLState())
+                    && sqlException.getMessage() != null) {
+                final Matcher matcher = INACTIVE_SHOWTIME.matcher(sqlException.getMessage());
+                if (matcher.find()) {
+                    return Long.valueOf(matcher.group(1));
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.att.tdp.popcorn_palace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIE_CATALOG = "movieCatalog";
+    public static final String MOVIES_BY_TITLE = "moviesByTitle";
+    public static final String MOVIES_BY_ID = "moviesById";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${popcorn-palace.cache.spec}") String spec) {
+        final CaffeineCacheManager caffeineCacheManager =
+                new CaffeineCacheManager(MOVIE_CATALOG, MOVIES_BY_TITLE, MOVIES_BY_ID);
+        caffeineCacheManager.setCacheSpecification(spec);
+
+        // MovieCache applies evictions after commit itself and guards its puts against them
+        return caffeineCacheManager;
+    }
+}
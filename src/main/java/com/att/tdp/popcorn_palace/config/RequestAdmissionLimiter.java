@@ -0,0 +1,67 @@
+package com.att.tdp.popcorn_palace.config;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Caps the API requests in progress. On platform threads Tomcat's pool did this implicitly; on
+// virtual threads every connection gets a thread, and without a cap a burst would pile up on
+// Hikari until requests fail with 30s connection timeouts instead of queueing here briefly.
+// Requests that wait longer than the timeout get a 503 so clients can back off.
+// An async request (GET /movies/stream) keeps its permit from the first dispatch until
+// afterCompletion of the async dispatch, which is where it is released.
+public class RequestAdmissionLimiter implements AsyncHandlerInterceptor {
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+
+    public RequestAdmissionLimiter(int maxConcurrentRequests, Duration timeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The permit taken on the first dispatch is still held
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        try {
+            if (permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new AppException(
+                "Server is busy, please retry",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ErrorType.SERVER_BUSY
+        );
+    }
+
+    // Only called for requests whose preHandle returned true, and for an async request only after
+    // its async dispatch (the first dispatch ends in afterConcurrentHandlingStarted), so every
+    // permit taken is given back exactly once
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        permits.release();
+    }
+
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+}
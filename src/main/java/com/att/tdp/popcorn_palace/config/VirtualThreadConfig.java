@@ -0,0 +1,41 @@
+package com.att.tdp.popcorn_palace.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+// Request handling on virtual threads (spring.threads.virtual.enabled=true): admission to the
+// API is sized from the connection pool rather than from a thread pool
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final RequestAdmissionLimiter admissionLimiter;
+
+    public VirtualThreadConfig(HikariDataSource dataSource,
+                               MeterRegistry meterRegistry,
+                               @Value("${popcorn-palace.virtual-threads.requests-per-connection}") int requestsPerConnection,
+                               @Value("${popcorn-palace.virtual-threads.admission-timeout}") Duration admissionTimeout) {
+        this.admissionLimiter = new RequestAdmissionLimiter(
+                dataSource.getMaximumPoolSize() * requestsPerConnection, admissionTimeout);
+        Gauge.builder("http.server.requests.admission.waiting", admissionLimiter, RequestAdmissionLimiter::waiting)
+                .description("Requests waiting for admission by the connection-pool-sized limiter")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.admission.available", admissionLimiter, RequestAdmissionLimiter::available)
+                .description("Requests that can still be admitted without waiting")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionLimiter);
+    }
+}
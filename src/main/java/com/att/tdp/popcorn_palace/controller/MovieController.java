@@ -1,36 +1,107 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.MovieImportReportDto;
+import com.att.tdp.popcorn_palace.dto.MoviePageDto;
 import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
 import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
+import com.att.tdp.popcorn_palace.service.CatalogVersionTracker;
+import com.att.tdp.popcorn_palace.service.MovieImportService;
 import com.att.tdp.popcorn_palace.service.MovieService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/movies")
 public class MovieController {
 
     private final MovieService movieService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionTracker versionTracker;
+    private final MovieImportService movieImportService;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, ObjectMapper objectMapper,
+                           CatalogVersionTracker versionTracker, MovieImportService movieImportService) {
         this.movieService = movieService;
+        this.objectMapper = objectMapper;
+        this.versionTracker = versionTracker;
+        this.movieImportService = movieImportService;
     }
 
     @GetMapping("/all")
-    public List<MovieResponseDto> getAllMovies() {
-        return movieService.getAllMovies();
+    public ResponseEntity<List<MovieResponseDto>> getAllMovies(WebRequest request) {
+        // Answer 304 from the persisted catalog version alone, before loading or serializing the catalog
+        final long version = versionTracker.movieCatalogVersion();
+        final String eTag = CatalogVersionTracker.movieCatalogETag(version);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        // The body is served for the same version the tag names, never from an older cached list
+        return ResponseEntity.ok().eTag(eTag).body(movieService.getAllMovies(version));
     }
 
 
+    @GetMapping("/title/{title}")
+    public MovieResponseDto getMovieByTitle(@PathVariable String title) {
+        return movieService.getMovieByTitle(title);
+    }
+
+    @GetMapping("/id/{id}")
+    public MovieResponseDto getMovieById(@PathVariable Long id) {
+        return movieService.getMovieById(id);
+    }
+
+    @GetMapping("/page")
+    public MoviePageDto getMoviesPage(
+            @RequestParam(defaultValue = MovieService.SORT_BY_ID) String sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + MovieService.DEFAULT_PAGE_SIZE) int limit) {
+        return movieService.getMoviesPage(sortBy, after, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamAllMovies() {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                movieService.forEachMovie(movie -> {
+                    try {
+                        generator.writeObject(movie);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+
     @PostMapping("")
     public MovieResponseDto addMovie(@Valid @RequestBody MovieRequestDto movieDto) {
         return movieService.addMovie(movieDto);
     }
 
+    // The body is read as a stream, record by record, so catalog files of any size can be posted
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MovieImportService.TEXT_CSV_VALUE})
+    public MovieImportReportDto importMovies(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                             InputStream body) throws IOException {
+        return movieImportService.importMovies(body, MovieImportService.Format.fromContentType(contentType));
+    }
+
     @PostMapping("/update/{title}")
     public ResponseEntity<MovieResponseDto> updateMovie(
             @PathVariable String title,
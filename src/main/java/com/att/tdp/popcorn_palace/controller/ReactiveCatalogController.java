@@ -0,0 +1,33 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.service.ReactiveCatalogService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only API of the reactive profile, on WebFlux instead of the servlet controllers
+@RestController
+@Profile("reactive")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService catalogService;
+
+    public ReactiveCatalogController(ReactiveCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @GetMapping("/movies/all")
+    public Flux<MovieResponseDto> getAllMovies() {
+        return catalogService.getAllMovies();
+    }
+
+    @GetMapping("/showtimes/{id}")
+    public Mono<ShowtimeResponseDto> getShowtimeById(@PathVariable Long id) {
+        return catalogService.getShowtimeById(id);
+    }
+}
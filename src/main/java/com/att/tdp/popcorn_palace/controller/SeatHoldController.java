@@ -0,0 +1,40 @@
+package com.att.tdp.popcorn_palace.controller;
+
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDto;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/bookings/holds")
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+
+    public SeatHoldController(SeatHoldService seatHoldService) {
+        this.seatHoldService = seatHoldService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.OK)
+    public SeatHoldResponseDto holdSeats(@Valid @RequestBody BatchTicketRequestDto holdRequestDto) {
+        return seatHoldService.holdSeats(holdRequestDto);
+    }
+
+    @PostMapping("/{holdId}/confirm")
+    public BatchTicketResponseDto confirmHold(@PathVariable String holdId) {
+        return seatHoldService.confirmHold(holdId);
+    }
+
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String holdId) {
+        seatHoldService.releaseHold(holdId);
+        return ResponseEntity.ok().build();
+    }
+}
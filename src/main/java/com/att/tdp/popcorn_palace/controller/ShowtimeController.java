@@ -1,26 +1,50 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.SeatMapDto;
 import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
 import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleRequestDto;
+import com.att.tdp.popcorn_palace.service.CatalogVersionTracker;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/showtimes")
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final CatalogVersionTracker versionTracker;
 
-    public ShowtimeController(ShowtimeService showtimeService) {
+    public ShowtimeController(ShowtimeService showtimeService, CatalogVersionTracker versionTracker) {
         this.showtimeService = showtimeService;
+        this.versionTracker = versionTracker;
     }
 
     @GetMapping("/{id}")
-    public ShowtimeResponseDto getShowtimeById(@PathVariable Long id) {
-        return showtimeService.getShowtimeById(id);
+    public ResponseEntity<ShowtimeResponseDto> getShowtimeById(@PathVariable Long id, WebRequest request) {
+        // Answer 304 from the row versions alone, before loading or serializing the showtime. No
+        // tag means no such showtime, and the service reports the 404
+        final String eTag = versionTracker.showtimeETag(id);
+        if (eTag == null) {
+            return ResponseEntity.ok(showtimeService.getShowtimeById(id));
+        }
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(showtimeService.getShowtimeById(id));
+    }
+
+    @GetMapping("/{id}/seats")
+    public SeatMapDto getSeatMap(@PathVariable Long id) {
+        return showtimeService.getSeatMap(id);
     }
 
     @PostMapping
@@ -29,6 +53,14 @@ public class ShowtimeController {
         return showtimeService.addShowtime(showtimeRequestDto);
     }
 
+    // Expands a recurrence rule and creates every showtime in it, or none if any of them conflict
+    @PostMapping("/schedule")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ShowtimeResponseDto> scheduleShowtimes(
+            @Valid @RequestBody ShowtimeScheduleRequestDto showtimeScheduleRequestDto) {
+        return showtimeService.scheduleShowtimes(showtimeScheduleRequestDto);
+    }
+
     @PostMapping("/update/{id}")
     public ShowtimeResponseDto updateShowtime(@PathVariable Long id,
                                                @RequestBody @Valid ShowtimeRequestDto showtimeRequestDto) {
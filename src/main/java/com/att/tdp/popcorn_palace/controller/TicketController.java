@@ -1,27 +1,40 @@
 package com.att.tdp.popcorn_palace.controller;
 
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
 import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
 import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
+import com.att.tdp.popcorn_palace.service.BookingEngine;
 import com.att.tdp.popcorn_palace.service.TicketService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/bookings")
 public class TicketController {
 
     private final TicketService ticketService;
+    private final BookingEngine bookingEngine;
 
-    public TicketController(TicketService ticketService) {
+    public TicketController(TicketService ticketService, BookingEngine bookingEngine) {
         this.ticketService = ticketService;
+        this.bookingEngine = bookingEngine;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
     public TicketResponseDto bookings(@Valid @RequestBody TicketRequestDto ticketRequestDto) {
-        return ticketService.bookTicket(ticketRequestDto);
+        return bookingEngine.bookTicket(ticketRequestDto);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchTicketResponseDto batchBookings(@Valid @RequestBody BatchTicketRequestDto batchRequestDto) {
+        return ticketService.bookTickets(batchRequestDto);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchTicketRequestDto {
+
+    public static final int MAX_SEATS = 50;
+
+    @NotNull(message = "Showtime ID is required")
+    private Long showtimeId;
+
+    @NotEmpty(message = "At least one seat number is required")
+    @Size(max = MAX_SEATS, message = "At most " + MAX_SEATS + " seats can be booked at once")
+    private List<@NotNull(message = "Seat number is required")
+                 @Positive(message = "Seat number must be positive")
+                 @Max(value = TicketRequestDto.MAX_SEAT_NUMBER,
+                         message = "Seat number must be at most " + TicketRequestDto.MAX_SEAT_NUMBER) Integer> seatNumbers;
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+}
@@ -0,0 +1,17 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieImportErrorDto {
+    // 1-based position of the record in the file, not counting a CSV header
+    private long row;
+    private String title;
+    private String error;
+}
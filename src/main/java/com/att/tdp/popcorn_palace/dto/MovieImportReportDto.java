@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieImportReportDto {
+    private long totalRows;
+    private long imported;
+    private long rejected;
+    // At most MovieImportService.MAX_REPORTED_ERRORS of the rejected rows
+    private List<MovieImportErrorDto> errors;
+    // Whether more rows were rejected than errors lists
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,19 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoviePageDto {
+    private List<MovieResponseDto> movies;
+
+    // Pass back as 'after' to fetch the next page; null when this is the last page
+    private String nextCursor;
+}
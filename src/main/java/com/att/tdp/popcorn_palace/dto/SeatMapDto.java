@@ -0,0 +1,18 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Seat occupancy of a showtime: bit n of the decoded bitmap is set when seat n is booked,
+// least significant bit of each byte first; seats past the end of the bitmap are free
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMapDto {
+    private Long showtimeId;
+    private int bookedSeats;
+    private String bitmap;
+}
@@ -0,0 +1,22 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A requested showtime that overlaps another one; conflictingShowtimeId is null when the other
+// showtime is part of the same request
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShowtimeConflictDto {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long conflictingShowtimeId;
+    private LocalDateTime conflictingStartTime;
+    private LocalDateTime conflictingEndTime;
+}
@@ -0,0 +1,58 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+// A recurrence rule: one showtime at each start time on every matching day from startDate to endDate
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShowtimeScheduleRequestDto {
+
+    // Upper bound on the showtimes a single schedule may expand to
+    public static final int MAX_SHOWTIMES = 1000;
+
+    @NotNull(message = "Movie ID is required")
+    private Long movieId;
+
+    @NotBlank(message = "Theater is required")
+    private String theater;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private Float price;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // Days of the week to schedule on; empty or missing means every day
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotEmpty(message = "At least one start time is required")
+    private List<@NotNull(message = "Start times must not be null") LocalTime> startTimes;
+
+    @NotNull(message = "Duration is required")
+    @Positive(message = "Duration must be positive")
+    private Integer durationMinutes;
+
+    @AssertTrue(message = "Start date must not be after end date")
+    public boolean isStartDateNotAfterEndDate() {
+        if (startDate == null || endDate == null) {
+            return true;
+        }
+        return !startDate.isAfter(endDate);
+    }
+}
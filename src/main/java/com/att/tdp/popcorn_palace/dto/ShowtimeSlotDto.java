@@ -0,0 +1,14 @@
+package com.att.tdp.popcorn_palace.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// The part of a showtime that matters for scheduling conflicts
+@Value
+public class ShowtimeSlotDto {
+    Long id;
+    String theater;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+}
@@ -1,5 +1,6 @@
 package com.att.tdp.popcorn_palace.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -14,11 +15,15 @@ import lombok.NoArgsConstructor;
 @Builder
 public class TicketRequestDto {
 
+    // Seat maps encode one bit per seat up to the highest booked one, so seat numbers are bounded
+    public static final int MAX_SEAT_NUMBER = 10_000;
+
     @NotNull(message = "Showtime ID is required")
     private Long showtimeId;
 
     @NotNull(message = "Seat number is required")
     @Positive(message = "Seat number must be positive")
+    @Max(value = MAX_SEAT_NUMBER, message = "Seat number must be at most " + MAX_SEAT_NUMBER)
     private int seatNumber;
 
     @NotBlank(message = "User ID is required")
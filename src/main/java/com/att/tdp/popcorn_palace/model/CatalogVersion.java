@@ -0,0 +1,24 @@
+package com.att.tdp.popcorn_palace.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A named counter bumped in the same transaction as the writes it tracks, so every instance
+// reading it sees the same version once the write has committed
+@Entity
+@Table(name = "catalog_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+
+    public static final String MOVIES = "movies";
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+}
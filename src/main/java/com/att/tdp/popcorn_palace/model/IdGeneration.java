@@ -0,0 +1,13 @@
+package com.att.tdp.popcorn_palace.model;
+
+// Entity ids come from pooled database sequences: one sequence call reserves this many ids, which
+// Hibernate then hands out in memory. Unlike IDENTITY, the id is known before the INSERT, so
+// Hibernate can group inserts into JDBC batches (hibernate.jdbc.batch_size).
+// Must equal the INCREMENT BY of the movies_seq, showtimes_seq and tickets_seq sequences.
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
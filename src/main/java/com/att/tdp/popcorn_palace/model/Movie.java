@@ -5,24 +5,42 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_title", columnList = "title")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Movie.TITLE_KEY_CONSTRAINT, columnNames = "title_key")
+})
+// Soft-deleted movies stay in the table until SoftDeletePurger removes them, hidden from every read
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Movie {
+
+    // Named so a duplicate title can be told apart from other constraint failures
+    public static final String TITLE_KEY_CONSTRAINT = "uk_movies_title_key";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movieIdGenerator")
+    @SequenceGenerator(name = "movieIdGenerator", sequenceName = "movies_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
-    @Column(unique = true)
     private String title;
 
+    // Case-insensitive lookup key for the title, backed by a unique index. Cleared on delete
+    // so the title can be reused before the row is purged
+    @Column(name = "title_key")
+    private String titleKey;
+
     private String genre;
 
     private Integer duration;
@@ -32,10 +50,28 @@ public class Movie {
     @Column(name = "release_year")
     private Integer releaseYear;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Bumped by Hibernate on every update; part of the ETags of this movie's showtimes
+    @Version
+    private Long version;
+
     @OneToMany(
             mappedBy = "movieId",
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
     private Set<Showtime> showtimes = new HashSet<>();
+
+    // Normalize a title the same way the title_key column is populated
+    public static String toTitleKey(String title) {
+        return title == null ? null : title.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void syncTitleKey() {
+        titleKey = toTitleKey(title);
+    }
 }
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.HashSet;
 import java.time.LocalDateTime;
@@ -12,13 +13,16 @@ import java.util.Set;
 
 @Entity
 @Table(name = "showtimes")
+// Soft-deleted showtimes stay in the table until SoftDeletePurger removes them, hidden from every read
+@SQLRestriction("deleted_at IS NULL")
 @Builder
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Showtime {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "showtimeIdGenerator")
+    @SequenceGenerator(name = "showtimeIdGenerator", sequenceName = "showtimes_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @JoinColumn(name = "movie_id")
@@ -36,6 +40,13 @@ public class Showtime {
     @Column(nullable = false)
     private Float price;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Bumped by Hibernate on every update; the ETag of GET /showtimes/{id} is built from it
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "showtimeId", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Ticket> tickets = new HashSet<>();
 }
@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "tickets", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"showtime_id", "seat_number"})
+        @UniqueConstraint(name = Ticket.SEAT_CONSTRAINT, columnNames = {"showtime_id", "seat_number"})
 })
 @Data
 @NoArgsConstructor
@@ -15,8 +15,12 @@ import lombok.NoArgsConstructor;
 @Builder
 public class Ticket {
 
+    // Named so a taken seat can be told apart from other constraint failures, such as a booking id collision
+    public static final String SEAT_CONSTRAINT = "uk_tickets_showtime_seat";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticketIdGenerator")
+    @SequenceGenerator(name = "ticketIdGenerator", sequenceName = "tickets_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @JoinColumn(name = "showtime_id", nullable = false,
@@ -29,8 +33,9 @@ public class Ticket {
     @Column(name = "user_id", nullable = false)
     private String userId;
 
+    // Time-ordered id from BookingIdGenerator; clients see it as a decimal string
     @Column(name = "booking_id", nullable = false, unique = true)
-    private String bookingId;
+    private Long bookingId;
 }
 
 
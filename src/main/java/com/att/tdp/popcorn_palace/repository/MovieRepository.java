@@ -1,17 +1,39 @@
 package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.model.Movie;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRepositoryCustom {
 
     Optional<Movie> findByTitle(String title);
-    boolean existsByTitleIgnoreCase(String title);
+    boolean existsByTitleKey(String titleKey);
     boolean existsByTitle(String title);
     void deleteByTitle(String title);
 
-}
\ No newline at end of file
+    // Keyset pagination: each page starts strictly after the last key of the previous one
+    List<Movie> findAllByOrderByIdAsc(Limit limit);
+    List<Movie> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<Movie> findAllByOrderByTitleAsc(Limit limit);
+    List<Movie> findByTitleGreaterThanOrderByTitleAsc(String title, Limit limit);
+
+    // Which of the given normalized titles are already taken, answered from the title_key index
+    @Query("SELECT m.titleKey FROM Movie m WHERE m.titleKey IN :titleKeys")
+    List<String> findTitleKeysIn(@Param("titleKeys") Collection<String> titleKeys);
+
+    // Soft delete: hides the row and frees its title; SoftDeletePurger removes it later
+    @Modifying
+    @Query("UPDATE Movie m SET m.deletedAt = :deletedAt, m.titleKey = NULL WHERE m.id = :id AND m.deletedAt IS NULL")
+    int markDeletedById(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+}
@@ -0,0 +1,11 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+
+import java.util.function.Consumer;
+
+public interface MovieRepositoryCustom {
+
+    // Walk the whole catalog through a JDBC cursor, handing each row over without keeping it
+    void forEachMovie(int fetchSize, Consumer<MovieResponseDto> action);
+}
@@ -0,0 +1,46 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    // Also run by ReactiveCatalogRepository, so both stacks list the same catalog
+    static final String SELECT_ALL_MOVIES =
+            "SELECT id, title, genre, duration, rating, release_year FROM movies "
+                    + "WHERE deleted_at IS NULL ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void forEachMovie(int fetchSize, Consumer<MovieResponseDto> action) {
+        // PostgreSQL only honours the fetch size inside a transaction, so callers must hold one
+        jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(SELECT_ALL_MOVIES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> action.accept(mapRow(rs)));
+    }
+
+    private MovieResponseDto mapRow(ResultSet rs) throws SQLException {
+        return MovieResponseDto.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .genre(rs.getString("genre"))
+                .duration(rs.getObject("duration", Integer.class))
+                .rating(rs.getObject("rating", Double.class))
+                .releaseYear(rs.getObject("release_year", Integer.class))
+                .build();
+    }
+}
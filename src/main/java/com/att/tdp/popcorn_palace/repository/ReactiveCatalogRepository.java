@@ -0,0 +1,67 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Non-blocking reads over R2DBC for the reactive profile. The catalog runs MovieRepositoryImpl's
+// SELECT; the showtime query is the native form of ShowtimeRepository.findResponseById, with the
+// soft-delete filters Hibernate adds to the JPQL written out
+@Repository
+@Profile("reactive")
+public class ReactiveCatalogRepository {
+
+    private static final String SELECT_SHOWTIME_RESPONSE =
+            "SELECT s.id, s.theater, s.start_time, s.end_time, s.price, m.title, m.release_year "
+                    + "FROM showtimes s JOIN movies m ON m.id = s.movie_id "
+                    + "WHERE s.id = :id AND s.deleted_at IS NULL AND m.deleted_at IS NULL";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<MovieResponseDto> findAllMovies() {
+        return databaseClient.sql(MovieRepositoryImpl.SELECT_ALL_MOVIES)
+                .map(ReactiveCatalogRepository::mapMovie)
+                .all();
+    }
+
+    public Mono<ShowtimeResponseDto> findShowtimeResponseById(Long id) {
+        return databaseClient.sql(SELECT_SHOWTIME_RESPONSE)
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::mapShowtime)
+                .one();
+    }
+
+    private static MovieResponseDto mapMovie(Readable row) {
+        return MovieResponseDto.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .genre(row.get("genre", String.class))
+                .duration(row.get("duration", Integer.class))
+                .rating(row.get("rating", Double.class))
+                .releaseYear(row.get("release_year", Integer.class))
+                .build();
+    }
+
+    private static ShowtimeResponseDto mapShowtime(Readable row) {
+        return ShowtimeResponseDto.builder()
+                .id(row.get("id", Long.class))
+                .theater(row.get("theater", String.class))
+                .startTime(row.get("start_time", LocalDateTime.class))
+                .endTime(row.get("end_time", LocalDateTime.class))
+                .price(row.get("price", Float.class))
+                .movieTitle(row.get("title", String.class))
+                .movieReleaseYear(row.get("release_year", Integer.class))
+                .build();
+    }
+}
@@ -1,25 +1,54 @@
 package com.att.tdp.popcorn_palace.repository;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto;
 import com.att.tdp.popcorn_palace.model.Showtime;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
-    @Query("SELECT s FROM Showtime s WHERE s.theater = :theater " +
-            "AND ((s.startTime BETWEEN :startTime AND :endTime) " +
-            "OR (s.endTime BETWEEN :startTime AND :endTime) " +
-            "OR (:startTime BETWEEN s.startTime AND s.endTime) " +
-            "OR (:endTime BETWEEN s.startTime AND s.endTime))")
-    List<Showtime> findOverlappingShowtimes(
-            @Param("theater") String theater,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
-
-}
\ No newline at end of file
+    @Query("SELECT new com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto(s.id, s.theater, s.startTime, s.endTime) " +
+            "FROM Showtime s")
+    List<ShowtimeSlotDto> findAllSlots();
+
+    // Every showtime in the theater touching [from, to], in start order
+    @Query("SELECT new com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto(s.id, s.theater, s.startTime, s.endTime) " +
+            "FROM Showtime s WHERE s.theater = :theater AND s.startTime <= :to AND s.endTime >= :from " +
+            "ORDER BY s.startTime")
+    List<ShowtimeSlotDto> findSlotsByTheaterBetween(@Param("theater") String theater,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    // Showtime together with its movie's title and release year in a single round trip
+    @Query("SELECT new com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto(" +
+            "s.id, s.theater, s.startTime, s.endTime, s.price, m.title, m.releaseYear) " +
+            "FROM Showtime s JOIN Movie m ON m.id = s.movieId WHERE s.id = :id")
+    Optional<ShowtimeResponseDto> findResponseById(@Param("id") Long id);
+
+    // The row versions a showtime response is built from: the showtime's and its movie's
+    @Query("SELECT CONCAT(CAST(s.version AS String), '-', CAST(m.version AS String)) " +
+            "FROM Showtime s JOIN Movie m ON m.id = s.movieId WHERE s.id = :id")
+    Optional<String> findVersionsById(@Param("id") Long id);
+
+    @Query("SELECT s.id FROM Showtime s WHERE s.movieId = :movieId")
+    List<Long> findIdsByMovieId(@Param("movieId") Long movieId);
+
+    // Soft deletes: the rows and their tickets are removed later by SoftDeletePurger
+    @Modifying
+    @Query("UPDATE Showtime s SET s.deletedAt = :deletedAt WHERE s.id = :id AND s.deletedAt IS NULL")
+    int markDeletedById(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("UPDATE Showtime s SET s.deletedAt = :deletedAt WHERE s.movieId = :movieId AND s.deletedAt IS NULL")
+    int markDeletedByMovieId(@Param("movieId") Long movieId, @Param("deletedAt") LocalDateTime deletedAt);
+
+}
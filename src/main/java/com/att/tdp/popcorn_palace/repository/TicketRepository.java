@@ -2,11 +2,17 @@ package com.att.tdp.popcorn_palace.repository;
 
 import com.att.tdp.popcorn_palace.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketRepositoryCustom {
 
-    boolean existsByShowtimeIdAndSeatNumber(Long showtimeId, int seatNumber);
+    // Served from the (showtime_id, seat_number) unique index
+    @Query("SELECT t.seatNumber FROM Ticket t WHERE t.showtimeId = :showtimeId")
+    List<Integer> findSeatNumbersByShowtimeId(@Param("showtimeId") Long showtimeId);
 
 }
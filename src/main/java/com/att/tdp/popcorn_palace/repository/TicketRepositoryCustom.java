@@ -0,0 +1,13 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.model.Ticket;
+
+import java.util.List;
+
+public interface TicketRepositoryCustom {
+
+    // Insert all tickets with one JDBC batch in one transaction: either every row lands or none does.
+    // Throws ShowtimeNotActiveException, inserting nothing, for the first ticket found whose showtime
+    // is no longer active
+    void insertAll(List<Ticket> tickets);
+}
@@ -0,0 +1,39 @@
+package com.att.tdp.popcorn_palace.repository;
+
+import com.att.tdp.popcorn_palace.Exception.ShowtimeNotActiveException;
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+public class TicketRepositoryImpl implements TicketRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insertAll(List<Ticket> tickets) {
+        // Ids come from the pooled sequence in memory, so the flush sends the rows as JDBC
+        // batches of hibernate.jdbc.batch_size instead of one INSERT round trip each
+        for (Ticket ticket : tickets) {
+            // A ticket retried after a failed batch still carries the id from that attempt
+            ticket.setId(null);
+            entityManager.persist(ticket);
+        }
+        try {
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            // Each INSERT checks and share-locks its showtime in the database, with no extra round trip
+            final Long inactiveShowtimeId = SqlStates.inactiveShowtimeId(e);
+            if (inactiveShowtimeId != null) {
+                throw new ShowtimeNotActiveException(Set.of(inactiveShowtimeId));
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
+
+// How single-seat bookings reach the database, selected by popcorn-palace.booking.mode:
+// TicketService books directly on the caller's thread, SingleWriterBookingEngine queues
+// bookings per showtime behind one writer
+public interface BookingEngine {
+
+    TicketResponseDto bookTicket(TicketRequestDto ticketRequestDto);
+}
@@ -0,0 +1,7 @@
+package com.att.tdp.popcorn_palace.service;
+
+// Source of ticket booking ids; ids must be unique across the whole deployment
+public interface BookingIdGenerator {
+
+    long nextId();
+}
@@ -0,0 +1,72 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.model.CatalogVersion;
+import com.att.tdp.popcorn_palace.repository.CatalogVersionRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Strong ETags built from persisted versions, so every instance issues the same tag for the same
+// data and a write made through one instance is seen by the others. Checking a tag costs one
+// primary-key lookup instead of loading and serializing the resource
+@Slf4j
+@Component
+@Profile("!reactive")
+public class CatalogVersionTracker {
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final TransactionTemplate bumpTransaction;
+
+    public CatalogVersionTracker(CatalogVersionRepository catalogVersionRepository,
+                                 ShowtimeRepository showtimeRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.showtimeRepository = showtimeRepository;
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Read before the data, so a tag never labels data older than the version it names
+    @Transactional(readOnly = true)
+    public long movieCatalogVersion() {
+        return catalogVersionRepository.findVersion(CatalogVersion.MOVIES).orElse(0L);
+    }
+
+    public static String movieCatalogETag(long version) {
+        return "m" + version;
+    }
+
+    // Changes only when this showtime or its movie is updated; null for an unknown showtime
+    @Transactional(readOnly = true)
+    public String showtimeETag(Long showtimeId) {
+        return showtimeRepository.findVersionsById(showtimeId)
+                .map(versions -> "s" + showtimeId + "-" + versions)
+                .orElse(null);
+    }
+
+    // Bumped once the writing transaction commits, in a one-statement transaction of its own: the
+    // catalog row lock is never held across a movie write, so writes on all instances do not queue
+    // on it. Safe because a reader takes the version before the data, so a tag never names data
+    // older than its version; only in the moment between the commit and the bump can a
+    // conditional GET still be answered for the list as it was before the write
+    public void markMoviesChanged() {
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                bumpTransaction.executeWithoutResult(status -> {
+                    if (catalogVersionRepository.increment(CatalogVersion.MOVIES) == 0) {
+                        catalogVersionRepository.save(new CatalogVersion(CatalogVersion.MOVIES, 1));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The write itself has committed; the tag catches up with the next movie write
+                log.error("Failed to bump the movie catalog version", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Read-through access to the movie caches with per-key invalidation. A read notes its key's
+// invalidation stamp before querying and caches the result only if no eviction of that key ran
+// since, so a read that overlapped an update's commit cannot put the old movie back after the
+// update evicted it. Stamps are striped by key: an eviction only ever costs another key's put.
+// Neither path takes a lock: an eviction bumps the stamp before evicting, and a read checks the
+// stamp again after its put, undoing the put if an eviction may have run before it landed
+@Component
+public class MovieCache {
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public MovieCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public <T> T get(String cacheName, Object key, Supplier<T> loader) {
+        return get(cacheName, key, cached -> true, loader);
+    }
+
+    // A cached value that is not current counts as a miss, and the loaded value replaces it
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, Object key, Predicate<T> isCurrent, Supplier<T> loader) {
+        final Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        final Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null && isCurrent.test((T) hit.get())) {
+            return (T) hit.get();
+        }
+        final int stripe = stripeOf(cacheName, key);
+        final long stamp = stamps.get(stripe);
+        final T value = loader.get();
+        if (stamps.get(stripe) == stamp) {
+            cache.put(key, value);
+            // An eviction that bumped the stamp after the check may have run before the put
+            if (stamps.get(stripe) != stamp) {
+                cache.evict(key);
+            }
+        }
+        return value;
+    }
+
+    // Applied after commit; evicting earlier would let a concurrent read cache the state that is
+    // about to be replaced
+    public void evictAfterCommit(String cacheName, Object key) {
+        TransactionCallbacks.afterCommit(() -> evict(cacheName, key));
+    }
+
+    private void evict(String cacheName, Object key) {
+        final Cache cache = cacheManager.getCache(cacheName);
+        // Stamp first: a read that checks the stamp after this either skips its put or undoes it,
+        // and one whose check came earlier has put before the evict below removes it
+        stamps.incrementAndGet(stripeOf(cacheName, key));
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static int stripeOf(String cacheName, Object key) {
+        return Math.floorMod(Objects.hash(cacheName, key), STAMP_STRIPES);
+    }
+}
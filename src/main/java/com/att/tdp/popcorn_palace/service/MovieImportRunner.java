@@ -0,0 +1,53 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.MovieImportErrorDto;
+import com.att.tdp.popcorn_palace.dto.MovieImportReportDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Imports catalog files given on the command line, e.g.
+//   java -jar popcorn-palace.jar --import-movies=catalog.csv --spring.main.web-application-type=none
+// Without a web server the application exits once the import is done.
+@Slf4j
+@Component
+@Profile("!reactive")
+public class MovieImportRunner implements ApplicationRunner {
+
+    public static final String IMPORT_OPTION = "import-movies";
+
+    private final MovieImportService movieImportService;
+
+    public MovieImportRunner(MovieImportService movieImportService) {
+        this.movieImportService = movieImportService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!args.containsOption(IMPORT_OPTION)) {
+            return;
+        }
+        for (String file : args.getOptionValues(IMPORT_OPTION)) {
+            final MovieImportReportDto report;
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(Path.of(file)))) {
+                report = movieImportService.importMovies(input, MovieImportService.Format.fromFileName(file));
+            }
+            log.info("Imported {} of {} movies from {}, {} rejected",
+                    report.getImported(), report.getTotalRows(), file, report.getRejected());
+            for (MovieImportErrorDto error : report.getErrors()) {
+                log.warn("{} row {} ({}): {}", file, error.getRow(), error.getTitle(), error.getError());
+            }
+            if (report.isErrorsTruncated()) {
+                log.warn("{}: only the first {} rejected rows are listed", file, report.getErrors().size());
+            }
+        }
+    }
+}
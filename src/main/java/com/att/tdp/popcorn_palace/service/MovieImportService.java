@@ -0,0 +1,250 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.config.CacheConfig;
+import com.att.tdp.popcorn_palace.dto.MovieImportErrorDto;
+import com.att.tdp.popcorn_palace.dto.MovieImportReportDto;
+import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk catalog import. The file is read one record at a time, never held in memory as a whole;
+// valid records are written in batches, each batch in its own transaction, and every rejected
+// record is counted and, up to MAX_REPORTED_ERRORS of them, reported with its row number and reason.
+@Service
+@Profile("!reactive")
+@Timed("service.calls")
+public class MovieImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    static final int BATCH_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    public enum Format {
+        JSON, CSV;
+
+        public static Format fromContentType(String contentType) {
+            final MediaType mediaType = MediaType.parseMediaType(contentType);
+            return MediaType.parseMediaType(TEXT_CSV_VALUE).includes(mediaType) ? CSV : JSON;
+        }
+
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : JSON;
+        }
+    }
+
+    private record PendingMovie(long row, MovieRequestDto request) {
+    }
+
+    // Counts every rejection but keeps only the first MAX_REPORTED_ERRORS, so a file that is
+    // mostly bad does not build its whole report in memory
+    private static final class Rejections {
+
+        private final List<MovieImportErrorDto> reported = new ArrayList<>();
+        private long count;
+
+        void add(MovieImportErrorDto error) {
+            count++;
+            if (reported.size() < MAX_REPORTED_ERRORS) {
+                reported.add(error);
+            }
+        }
+
+        void addAll(List<MovieImportErrorDto> errors) {
+            errors.forEach(this::add);
+        }
+    }
+
+    private final MovieRepository movieRepository;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final MovieCache movieCache;
+    private final CatalogVersionTracker versionTracker;
+
+    public MovieImportService(MovieRepository movieRepository, ObjectMapper objectMapper, Validator validator,
+                              PlatformTransactionManager transactionManager, MovieCache movieCache,
+                              CatalogVersionTracker versionTracker) {
+        this.movieRepository = movieRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.movieCache = movieCache;
+        this.versionTracker = versionTracker;
+    }
+
+    public MovieImportReportDto importMovies(InputStream input, Format format) throws IOException {
+        final Rejections errors = new Rejections();
+        final Set<String> seenTitleKeys = new HashSet<>();
+        final List<PendingMovie> batch = new ArrayList<>(BATCH_SIZE);
+        long rows = 0;
+        long imported = 0;
+
+        try (MappingIterator<MovieRequestDto> records = openReader(input, format)) {
+            while (true) {
+                final MovieRequestDto request;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    rows++;
+                    request = records.nextValue();
+                } catch (JsonParseException e) {
+                    // Broken syntax: nothing after this point can be trusted
+                    errors.add(error(rows, null, "Malformed input, import stopped: " + e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    // A field of the wrong type; the reader skips to the next record
+                    errors.add(error(rows, null, "Unreadable record: " + e.getOriginalMessage()));
+                    continue;
+                }
+
+                final String violations = validate(request);
+                if (violations != null) {
+                    errors.add(error(rows, request.getTitle(), violations));
+                    continue;
+                }
+                if (!seenTitleKeys.add(Movie.toTitleKey(request.getTitle()))) {
+                    errors.add(error(rows, request.getTitle(), "Duplicate title within the import"));
+                    continue;
+                }
+
+                batch.add(new PendingMovie(rows, request));
+                if (batch.size() == BATCH_SIZE) {
+                    imported += writeBatch(batch, errors);
+                    batch.clear();
+                }
+            }
+        }
+        imported += writeBatch(batch, errors);
+
+        if (imported > 0) {
+            movieCache.evictAfterCommit(CacheConfig.MOVIE_CATALOG, MovieService.ALL_MOVIES_KEY);
+        }
+
+        return MovieImportReportDto.builder()
+                .totalRows(rows)
+                .imported(imported)
+                .rejected(errors.count)
+                .errors(errors.reported)
+                .errorsTruncated(errors.count > errors.reported.size())
+                .build();
+    }
+
+    private MappingIterator<MovieRequestDto> openReader(InputStream input, Format format) throws IOException {
+        if (format == Format.CSV) {
+            return csvMapper.readerFor(MovieRequestDto.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+        // A top-level JSON array is iterated element by element
+        return objectMapper.readerFor(MovieRequestDto.class).readValues(input);
+    }
+
+    private String validate(MovieRequestDto request) {
+        final Set<ConstraintViolation<MovieRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Returns how many movies of the batch were inserted
+    private long writeBatch(List<PendingMovie> batch, Rejections errors) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            final List<MovieImportErrorDto> batchErrors = new ArrayList<>();
+            final Long inserted = transactionTemplate.execute(status -> insertNewTitles(batch, batchErrors));
+            errors.addAll(batchErrors);
+            return inserted;
+        } catch (DataIntegrityViolationException e) {
+            // A title added concurrently after the existence check, or a row the database rejects
+            // for another reason; settle it row by row
+            long inserted = 0;
+            for (PendingMovie movie : batch) {
+                final List<MovieImportErrorDto> rowErrors = new ArrayList<>();
+                try {
+                    inserted += transactionTemplate.execute(status -> insertNewTitles(List.of(movie), rowErrors));
+                    errors.addAll(rowErrors);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    errors.add(SqlStates.isUniqueViolation(rowFailure, Movie.TITLE_KEY_CONSTRAINT)
+                            ? alreadyExists(movie)
+                            : error(movie.row(), movie.request().getTitle(),
+                                    "Rejected by the database: " + rowFailure.getMostSpecificCause().getMessage()));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private long insertNewTitles(List<PendingMovie> batch, List<MovieImportErrorDto> errors) {
+        final Set<String> existing = new HashSet<>(movieRepository.findTitleKeysIn(
+                batch.stream().map(movie -> Movie.toTitleKey(movie.request().getTitle())).toList()));
+
+        final List<Movie> movies = new ArrayList<>(batch.size());
+        for (PendingMovie movie : batch) {
+            if (existing.contains(Movie.toTitleKey(movie.request().getTitle()))) {
+                errors.add(alreadyExists(movie));
+                continue;
+            }
+            final MovieRequestDto request = movie.request();
+            movies.add(Movie.builder()
+                    .title(request.getTitle())
+                    .genre(request.getGenre())
+                    .duration(request.getDuration())
+                    .rating(request.getRating())
+                    .releaseYear(request.getReleaseYear())
+                    .build());
+        }
+        movieRepository.saveAll(movies);
+        movieRepository.flush();
+        // Each batch commits on its own, so each one moves the catalog version once it has
+        if (!movies.isEmpty()) {
+            versionTracker.markMoviesChanged();
+        }
+        return movies.size();
+    }
+
+    private MovieImportErrorDto alreadyExists(PendingMovie movie) {
+        return error(movie.row(), movie.request().getTitle(),
+                "Movie with title '" + movie.request().getTitle() + "' already exists");
+    }
+
+    private MovieImportErrorDto error(long row, String title, String message) {
+        return MovieImportErrorDto.builder()
+                .row(row)
+                .title(title)
+                .error(message)
+                .build();
+    }
+}
@@ -2,56 +2,156 @@ package com.att.tdp.popcorn_palace.service;
 
 import com.att.tdp.popcorn_palace.Exception.AppException;
 import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.config.CacheConfig;
+import com.att.tdp.popcorn_palace.dto.MoviePageDto;
 import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
 import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
 import com.att.tdp.popcorn_palace.model.Movie;
-import com.att.tdp.popcorn_palace.model.Showtime;
-import com.att.tdp.popcorn_palace.model.Ticket;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
+@Timed("service.calls")
 public class MovieService {
 
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_TITLE = "title";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_FETCH_SIZE = 500;
+    static final String ALL_MOVIES_KEY = "all";
+
     private final MovieRepository movieRepository;
     private final ShowtimeRepository showtimeRepository;
     private final TicketRepository ticketRepository;
+    private final MovieCache movieCache;
+    private final CatalogVersionTracker versionTracker;
+    private final ShowtimeOverlapIndex overlapIndex;
+    private final SeatOccupancyIndex seatIndex;
 
-    public MovieService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository, TicketRepository ticketRepository) {
+    public MovieService(MovieRepository movieRepository, ShowtimeRepository showtimeRepository,
+                        TicketRepository ticketRepository, MovieCache movieCache,
+                        CatalogVersionTracker versionTracker, ShowtimeOverlapIndex overlapIndex,
+                        SeatOccupancyIndex seatIndex) {
         this.movieRepository = movieRepository;
         this.showtimeRepository = showtimeRepository;
         this.ticketRepository = ticketRepository;
+        this.movieCache = movieCache;
+        this.versionTracker = versionTracker;
+        this.overlapIndex = overlapIndex;
+        this.seatIndex = seatIndex;
+    }
+
+    // The cached catalog with the catalog version it was loaded for
+    private record CatalogSnapshot(long version, List<MovieResponseDto> movies) {
     }
 
     @Transactional(readOnly = true)
     public List<MovieResponseDto> getAllMovies() {
-        return movieRepository.findAll().stream()
+        return getAllMovies(versionTracker.movieCatalogVersion());
+    }
+
+    // The catalog as of at least the given version, read beforehand. A cached list loaded for
+    // another version is reloaded, so a write made through another instance, or not yet evicted
+    // here, never leaves an older list behind the current version's ETag
+    @Transactional(readOnly = true)
+    public List<MovieResponseDto> getAllMovies(long catalogVersion) {
+        final CatalogSnapshot snapshot = movieCache.get(CacheConfig.MOVIE_CATALOG, ALL_MOVIES_KEY,
+                (CatalogSnapshot cached) -> cached.version() == catalogVersion,
+                () -> new CatalogSnapshot(catalogVersion, movieRepository.findAll().stream()
+                        .map(this::convertToResponseDto)
+                        .collect(Collectors.toList())));
+        return snapshot.movies();
+    }
+
+    @Transactional(readOnly = true)
+    public MovieResponseDto getMovieByTitle(String title) {
+        return movieCache.get(CacheConfig.MOVIES_BY_TITLE, title, () -> movieRepository.findByTitle(title)
+                .map(this::convertToResponseDto)
+                .orElseThrow(() -> new AppException(
+                        "Movie with title '" + title + "' not found",
+                        HttpStatus.NOT_FOUND,
+                        ErrorType.MOVIE_NOT_FOUND
+                )));
+    }
+
+    @Transactional(readOnly = true)
+    public MovieResponseDto getMovieById(Long id) {
+        return movieCache.get(CacheConfig.MOVIES_BY_ID, id, () -> movieRepository.findById(id)
                 .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+                .orElseThrow(() -> new AppException(
+                        "Movie with ID '" + id + "' not found",
+                        HttpStatus.NOT_FOUND,
+                        ErrorType.MOVIE_NOT_FOUND
+                )));
+    }
+
+    @Transactional(readOnly = true)
+    public MoviePageDto getMoviesPage(String sortBy, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new AppException("Page size must be between 1 and " + MAX_PAGE_SIZE,
+                    HttpStatus.BAD_REQUEST, ErrorType.VALIDATION_ERROR);
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        final Limit fetchLimit = Limit.of(limit + 1);
+        final List<Movie> movies;
+        if (SORT_BY_ID.equals(sortBy)) {
+            movies = after == null
+                    ? movieRepository.findAllByOrderByIdAsc(fetchLimit)
+                    : movieRepository.findByIdGreaterThanOrderByIdAsc(parseIdCursor(after), fetchLimit);
+        } else if (SORT_BY_TITLE.equals(sortBy)) {
+            movies = after == null
+                    ? movieRepository.findAllByOrderByTitleAsc(fetchLimit)
+                    : movieRepository.findByTitleGreaterThanOrderByTitleAsc(after, fetchLimit);
+        } else {
+            throw new AppException("Unsupported sort key '" + sortBy + "'",
+                    HttpStatus.BAD_REQUEST, ErrorType.VALIDATION_ERROR,
+                    "Supported sort keys are '" + SORT_BY_ID + "' and '" + SORT_BY_TITLE + "'");
+        }
+
+        final boolean hasMore = movies.size() > limit;
+        final List<Movie> page = hasMore ? movies.subList(0, limit) : movies;
+        String nextCursor = null;
+        if (hasMore) {
+            final Movie last = page.get(page.size() - 1);
+            nextCursor = SORT_BY_ID.equals(sortBy) ? String.valueOf(last.getId()) : last.getTitle();
+        }
+
+        return MoviePageDto.builder()
+                .movies(page.stream().map(this::convertToResponseDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Stream the whole catalog row by row; memory use is bounded by the fetch size, not the catalog size
+    @Transactional(readOnly = true)
+    public void forEachMovie(Consumer<MovieResponseDto> action) {
+        movieRepository.forEachMovie(STREAM_FETCH_SIZE, action);
     }
 
     @Transactional
     public MovieResponseDto addMovie(MovieRequestDto movieDto) {
 
         // Check for existing movie with the same title to avoid duplicates
-        final boolean titleExists = movieRepository.findAll().stream()
-                .anyMatch(m -> m.getTitle().equalsIgnoreCase(movieDto.getTitle()));
-
-        // If the movie title already exists, throw a conflict exception
-        if (titleExists) {
-            throw new AppException(
-                    "A movie titled '" + movieDto.getTitle() + "' already exists in the system",
-                    HttpStatus.CONFLICT,
-                    ErrorType.DUPLICATE_MOVIE_TITLE
-            );
+        if (movieRepository.existsByTitleKey(Movie.toTitleKey(movieDto.getTitle()))) {
+            throw duplicateTitle(movieDto.getTitle());
         }
 
         final Movie movie = Movie.builder()
@@ -62,8 +162,21 @@ public class MovieService {
                 .releaseYear(movieDto.getReleaseYear())
                 .build();
 
-        final Movie saved = movieRepository.save(movie);
+        // The unique index on title_key settles concurrent inserts of the same title. Ids come from a
+        // pooled sequence, so save() alone would defer the INSERT, and the violation, to the commit
+        final Movie saved;
+        try {
+            saved = movieRepository.saveAndFlush(movie);
+        } catch (DataIntegrityViolationException e) {
+            if (SqlStates.isUniqueViolation(e, Movie.TITLE_KEY_CONSTRAINT)) {
+                throw duplicateTitle(movieDto.getTitle());
+            }
+            throw e;
+        }
 
+        // A new movie only changes the catalog listing; lookups for its title or id were never cached
+        evictCatalog();
+        versionTracker.markMoviesChanged();
         return convertToResponseDto(saved);
     }
 
@@ -77,16 +190,12 @@ public class MovieService {
                         HttpStatus.NOT_FOUND,
                         ErrorType.MOVIE_NOT_FOUND
                 ));
+        final String previousTitle = existing.getTitle();
 
         // Update title if provided, with duplicate title check
         if (updatedDto.getTitle() != null && !updatedDto.getTitle().equalsIgnoreCase(existing.getTitle())) {
-            if (movieRepository.findAll().stream()
-                    .anyMatch(movie -> movie.getTitle().equalsIgnoreCase(updatedDto.getTitle()))) {
-                throw new AppException(
-                        "A movie titled '" + updatedDto.getTitle() + "' already exists in the system",
-                        HttpStatus.CONFLICT,
-                        ErrorType.DUPLICATE_MOVIE_TITLE
-                );
+            if (movieRepository.existsByTitleKey(Movie.toTitleKey(updatedDto.getTitle()))) {
+                throw duplicateTitle(updatedDto.getTitle());
             }
             existing.setTitle(updatedDto.getTitle());
         }
@@ -120,7 +229,21 @@ public class MovieService {
             existing.setReleaseYear(updatedDto.getReleaseYear());
         }
 
-        final Movie updated = movieRepository.save(existing);
+        // Flush so a concurrent rename to the same title surfaces here rather than at commit
+        final Movie updated;
+        try {
+            updated = movieRepository.save(existing);
+            movieRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Only a changed title can collide, and existing already carries it
+            if (SqlStates.isUniqueViolation(e, Movie.TITLE_KEY_CONSTRAINT)) {
+                throw duplicateTitle(existing.getTitle());
+            }
+            throw e;
+        }
+
+        evictMovie(updated.getId(), previousTitle, updated.getTitle());
+        versionTracker.markMoviesChanged();
         return convertToResponseDto(updated);
     }
 
@@ -133,36 +256,63 @@ public class MovieService {
                         ErrorType.MOVIE_NOT_FOUND,
                         "Movie with title '" + title + "' does not exist"
                 ));
+        // Mark the movie and its showtimes deleted; their tickets and rows are purged in the background.
+        // The movie goes first: its row lock waits out showtimes being added for it, which the
+        // showtimes_require_active_movie trigger share-locks the movie for, so the showtime update
+        // below sees them, and refuses any added after it
+        final LocalDateTime deletedAt = LocalDateTime.now();
+        final List<Long> showtimeIds;
         try {
-            for (Showtime showtime : movie.getShowtimes()) {
-                for (Ticket ticket : showtime.getTickets()) {
-                    ticketRepository.delete(ticket);
-                }
-                showtimeRepository.deleteById(showtime.getId());
-            }
-        }
-        catch (Exception e) {
+            movieRepository.markDeletedById(movie.getId(), deletedAt);
+            showtimeIds = showtimeRepository.findIdsByMovieId(movie.getId());
+            showtimeRepository.markDeletedByMovieId(movie.getId(), deletedAt);
+        } catch (Exception e) {
             throw new AppException(
                     "Internal Data base error",
                     HttpStatus.INTERNAL_SERVER_ERROR,
                     ErrorType.INTERNAL_SERVER_ERROR,
-                    "Error:" + e + "\nBacktrace:" + e.getStackTrace()
+                    "Error:" + e
             );
+        }
+
+        TransactionCallbacks.afterCommit(() -> showtimeIds.forEach(showtimeId -> {
+            overlapIndex.remove(showtimeId);
+            seatIndex.evict(showtimeId);
+        }));
+        evictMovie(movie.getId(), movie.getTitle());
+        versionTracker.markMoviesChanged();
+    }
 
+    // Drop exactly the cache entries a write to this movie can make stale
+    private void evictMovie(Long id, String... titles) {
+        evictCatalog();
+        movieCache.evictAfterCommit(CacheConfig.MOVIES_BY_ID, id);
+        for (String title : titles) {
+            movieCache.evictAfterCommit(CacheConfig.MOVIES_BY_TITLE, title);
         }
+    }
+
+    private void evictCatalog() {
+        movieCache.evictAfterCommit(CacheConfig.MOVIE_CATALOG, ALL_MOVIES_KEY);
+    }
 
+    private Long parseIdCursor(String after) {
         try {
-            movieRepository.deleteById(movie.getId());
-                    } catch (Exception e) {
-            throw new AppException(
-                    "Internal Data base error",
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    ErrorType.INTERNAL_SERVER_ERROR,
-                    "Error:" + e
-            );
+            return Long.valueOf(after);
+        } catch (NumberFormatException e) {
+            throw new AppException("Invalid cursor '" + after + "'",
+                    HttpStatus.BAD_REQUEST, ErrorType.VALIDATION_ERROR);
         }
     }
 
+    private AppException duplicateTitle(String title) {
+        return new AppException(
+                "A movie titled '" + title + "' already exists in the system",
+                HttpStatus.CONFLICT,
+                ErrorType.DUPLICATE_MOVIE_TITLE
+        );
+    }
+
     // Convert Movie model to MovieResponseDto for API response
     private MovieResponseDto convertToResponseDto(Movie movie) {
         return MovieResponseDto.builder()
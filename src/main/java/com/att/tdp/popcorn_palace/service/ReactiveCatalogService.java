@@ -0,0 +1,31 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.repository.ReactiveCatalogRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The catalog reads of MovieService and ShowtimeService for the reactive profile. Nothing is
+// cached here: this deployment serves reads only, so it would never see the writes that evict
+@Service
+@Profile("reactive")
+public class ReactiveCatalogService {
+
+    private final ReactiveCatalogRepository catalogRepository;
+
+    public ReactiveCatalogService(ReactiveCatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    public Flux<MovieResponseDto> getAllMovies() {
+        return catalogRepository.findAllMovies();
+    }
+
+    public Mono<ShowtimeResponseDto> getShowtimeById(Long id) {
+        return catalogRepository.findShowtimeResponseById(id)
+                .switchIfEmpty(Mono.error(() -> ShowtimeService.showtimeNotFound(id)));
+    }
+}
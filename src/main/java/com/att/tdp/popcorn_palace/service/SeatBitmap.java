@@ -0,0 +1,137 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Occupancy of one showtime, one bit per seat number, packed into 64-seat words of one flat
+// array sized up front, so a claim is an index and a CAS with nothing allocated or looked up.
+// Concurrent claims never block.
+public class SeatBitmap {
+
+    // Showtimes carry no seat count of their own; every seat number a booking request accepts fits
+    public static final int DEFAULT_CAPACITY = TicketRequestDto.MAX_SEAT_NUMBER + 1;
+
+    private static final int WORD_SHIFT = 6;
+
+    private final AtomicLongArray words;
+    // Claims that exist only here: bookings still on their way to the database and seat holds.
+    // SeatOccupancyIndex never drops a bitmap while it has any
+    private final AtomicInteger unsettledClaims = new AtomicInteger();
+
+    public SeatBitmap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Seats 0 to capacity - 1; at the default capacity that is 157 words
+    public SeatBitmap(int capacity) {
+        this.words = new AtomicLongArray((capacity + Long.SIZE - 1) >>> WORD_SHIFT);
+    }
+
+    public static SeatBitmap of(Collection<Integer> takenSeats) {
+        final SeatBitmap bitmap = new SeatBitmap();
+        takenSeats.forEach(bitmap::markBooked);
+        return bitmap;
+    }
+
+    // Atomically mark the seat as taken; false when it already was, or lies beyond the capacity.
+    // The claim stays unsettled until it is released, or settled once its ticket row is written
+    public boolean tryClaim(int seat) {
+        if (!set(seat)) {
+            return false;
+        }
+        unsettledClaims.incrementAndGet();
+        return true;
+    }
+
+    // A seat the tickets table already holds, so not a claim of this node
+    void markBooked(int seat) {
+        set(seat);
+    }
+
+    // The given number of claims now have their ticket rows; their seats stay taken
+    public void settle(int claims) {
+        unsettledClaims.addAndGet(-claims);
+    }
+
+    public boolean hasUnsettledClaims() {
+        return unsettledClaims.get() > 0;
+    }
+
+    private boolean set(int seat) {
+        final int index = wordIndex(seat);
+        if (index < 0) {
+            return false;
+        }
+        final long mask = 1L << seat;
+        long current;
+        do {
+            current = words.get(index);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, current, current | mask));
+        return true;
+    }
+
+    // Gives back a claim, settling it
+    public void release(int seat) {
+        final int index = wordIndex(seat);
+        if (index >= 0) {
+            final long mask = 1L << seat;
+            if ((words.getAndUpdate(index, current -> current & ~mask) & mask) != 0) {
+                unsettledClaims.decrementAndGet();
+            }
+        }
+    }
+
+    public boolean isTaken(int seat) {
+        final int index = wordIndex(seat);
+        return index >= 0 && (words.get(index) & (1L << seat)) != 0;
+    }
+
+    public int countTaken() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    // Bit n of the result is seat n, least significant bit of each byte first; trailing
+    // free seats are trimmed so the encoding only grows with the highest taken seat, which
+    // booking requests cap at TicketRequestDto.MAX_SEAT_NUMBER (at most 1251 bytes)
+    public byte[] toByteArray() {
+        int lastWord = words.length() - 1;
+        long last = 0;
+        while (lastWord >= 0 && (last = words.get(lastWord)) == 0) {
+            lastWord--;
+        }
+        if (lastWord < 0) {
+            return new byte[0];
+        }
+
+        final byte[] bytes = new byte[(lastWord + 1) * Long.BYTES];
+        for (int i = 0; i <= lastWord; i++) {
+            // The last word is the one read above, so the trim below always matches it
+            final long word = i == lastWord ? last : words.get(i);
+            for (int b = 0; b < Long.BYTES; b++) {
+                bytes[i * Long.BYTES + b] = (byte) (word >>> (b * Byte.SIZE));
+            }
+        }
+        int length = bytes.length;
+        while (bytes[length - 1] == 0) {
+            length--;
+        }
+        return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+    }
+
+    // -1 for a seat outside the bitmap, such as one booked before seat numbers were capped
+    private int wordIndex(int seat) {
+        final int index = seat >>> WORD_SHIFT;
+        return seat >= 0 && index < words.length() ? index : -1;
+    }
+}
@@ -0,0 +1,138 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDto;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Seats held in memory while the user pays. A held seat is claimed in the showtime's seat
+// bitmap exactly like a booked one, so bookings and the seat map see it as occupied.
+// Expiry runs off one timing wheel advanced by a single ticker thread, with no task per hold.
+@Slf4j
+@Service
+@Profile("!reactive")
+@Timed("service.calls")
+public class SeatHoldService {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private record SeatHold(String holdId, Long showtimeId, List<Integer> seatNumbers, String userId,
+                            SeatBitmap seats, TimingWheel.Timeout<String> timeout) {
+    }
+
+    private final TicketService ticketService;
+    private final Duration ttl;
+    private final Duration tick;
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final TimingWheel<String> wheel;
+    private ScheduledExecutorService ticker;
+
+    public SeatHoldService(TicketService ticketService,
+                           @Value("${popcorn-palace.holds.ttl}") Duration ttl,
+                           @Value("${popcorn-palace.holds.tick}") Duration tick) {
+        this.ticketService = ticketService;
+        this.ttl = ttl;
+        this.tick = tick;
+        this.wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void startTicker() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "seat-hold-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                expireHolds(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.error("Failed to expire seat holds", e);
+            }
+        }, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopTicker() {
+        ticker.shutdownNow();
+    }
+
+    public SeatHoldResponseDto holdSeats(BatchTicketRequestDto holdRequestDto) {
+        final Long showtimeId = holdRequestDto.getShowtimeId();
+        final List<Integer> seatNumbers = List.copyOf(holdRequestDto.getSeatNumbers());
+
+        final SeatBitmap seats = ticketService.claimSeats(showtimeId, seatNumbers);
+
+        final String holdId = UUID.randomUUID().toString();
+        final long deadline = System.currentTimeMillis() + ttl.toMillis();
+        // Published under the wheel lock, so the hold is in the map before its timer can fire
+        synchronized (wheel) {
+            final TimingWheel.Timeout<String> timeout = wheel.schedule(holdId, deadline);
+            holds.put(holdId, new SeatHold(holdId, showtimeId, seatNumbers, holdRequestDto.getUserId(),
+                    seats, timeout));
+        }
+
+        return SeatHoldResponseDto.builder()
+                .holdId(holdId)
+                .expiresAt(Instant.ofEpochMilli(deadline))
+                .build();
+    }
+
+    // Turn the hold into tickets; the seats stay claimed, so nobody can take them in between
+    public BatchTicketResponseDto confirmHold(String holdId) {
+        final SeatHold hold = takeHold(holdId);
+        return ticketService.insertClaimedSeats(hold.showtimeId(), hold.seatNumbers(), hold.userId(), hold.seats());
+    }
+
+    public void releaseHold(String holdId) {
+        final SeatHold hold = takeHold(holdId);
+        hold.seatNumbers().forEach(hold.seats()::release);
+    }
+
+    // Releases every hold whose deadline has passed by the given time
+    public void expireHolds(long nowMillis) {
+        final List<String> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(nowMillis);
+        }
+        for (String holdId : expired) {
+            // Confirm and release remove the hold first, so whichever gets here first owns the seats
+            final SeatHold hold = holds.remove(holdId);
+            if (hold != null) {
+                hold.seatNumbers().forEach(hold.seats()::release);
+            }
+        }
+    }
+
+    private SeatHold takeHold(String holdId) {
+        final SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new AppException(
+                    "Hold with ID '" + holdId + "' not found or already expired",
+                    HttpStatus.NOT_FOUND,
+                    ErrorType.HOLD_NOT_FOUND
+            );
+        }
+        hold.timeout().cancel();
+        return hold;
+    }
+}
@@ -0,0 +1,152 @@
+package com.att.tdp.popcorn_palace.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Seat bitmaps of the showtimes booked through this node, hydrated lazily from the tickets table.
+// A bitmap nobody has looked up for the idle timeout is dropped, so past showtimes do not keep
+// theirs for the life of the process; the next booking for it loads it again.
+@Slf4j
+@Component
+public class SeatOccupancyIndex {
+
+    // A bitmap with the time it was last handed out
+    private static final class Entry {
+        private final SeatBitmap bitmap;
+        private volatile long lastAccessMillis;
+
+        private Entry(SeatBitmap bitmap, long nowMillis) {
+            this.bitmap = bitmap;
+            this.lastAccessMillis = nowMillis;
+        }
+
+        private SeatBitmap touch() {
+            lastAccessMillis = System.currentTimeMillis();
+            return bitmap;
+        }
+    }
+
+    private final Map<Long, Entry> bitmaps = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<SeatBitmap>> loads = new ConcurrentHashMap<>();
+    private final Duration idleTimeout;
+    private ScheduledExecutorService pruner;
+
+    public SeatOccupancyIndex(@Value("${popcorn-palace.seats.idle-timeout}") Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    @PostConstruct
+    void startPruner() {
+        pruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "seat-bitmap-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pruner.scheduleWithFixedDelay(() -> {
+            try {
+                prune(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                log.error("Failed to prune seat bitmaps", e);
+            }
+        }, idleTimeout.toMillis(), idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopPruner() {
+        pruner.shutdownNow();
+    }
+
+    // The bitmap if it is already loaded; never touches the database
+    public SeatBitmap find(Long showtimeId) {
+        final Entry entry = bitmaps.get(showtimeId);
+        return entry == null ? null : entry.touch();
+    }
+
+    // Concurrent callers for the same showtime wait for a single load, so no claim can
+    // slip in between reading the booked seats and publishing the bitmap. The load runs
+    // outside any map lock: computeIfAbsent would hold its bin's monitor across the query,
+    // pinning a virtual thread to its carrier for the whole round trip.
+    public SeatBitmap getOrLoad(Long showtimeId, Supplier<? extends Collection<Integer>> takenSeats) {
+        final SeatBitmap loaded = find(showtimeId);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        final CompletableFuture<SeatBitmap> load = new CompletableFuture<>();
+        final CompletableFuture<SeatBitmap> inProgress = loads.putIfAbsent(showtimeId, load);
+        if (inProgress != null) {
+            return await(inProgress);
+        }
+        try {
+            // A load that finished after the first look has published its bitmap before unregistering
+            SeatBitmap bitmap = find(showtimeId);
+            if (bitmap == null) {
+                bitmap = SeatBitmap.of(takenSeats.get());
+                bitmaps.put(showtimeId, new Entry(bitmap, System.currentTimeMillis()));
+            }
+            load.complete(bitmap);
+            return bitmap;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(showtimeId, load);
+        }
+    }
+
+    // Adds seats booked behind this node to the bitmap in use. Bits are only ever added here:
+    // held seats and claims still on their way to the database exist nowhere but in this
+    // bitmap, so replacing it with a fresh load from the table would silently free them
+    public void refresh(Long showtimeId, Supplier<? extends Collection<Integer>> takenSeats) {
+        final Entry entry = bitmaps.get(showtimeId);
+        if (entry != null) {
+            takenSeats.get().forEach(entry.bitmap::markBooked);
+        }
+    }
+
+    // Only for a showtime that is gone; its holds and claims go with it
+    public void evict(Long showtimeId) {
+        bitmaps.remove(showtimeId);
+    }
+
+    // Drops the bitmaps idle for the timeout as of the given time, keeping any that still carry
+    // unsettled claims: those exist nowhere else, so a reload from the table would free them.
+    // Returns how many were dropped
+    public int prune(long nowMillis) {
+        final long idleSince = nowMillis - idleTimeout.toMillis();
+        int pruned = 0;
+        for (Map.Entry<Long, Entry> mapping : bitmaps.entrySet()) {
+            final Entry entry = mapping.getValue();
+            if (entry.lastAccessMillis <= idleSince && !entry.bitmap.hasUnsettledClaims()
+                    && bitmaps.remove(mapping.getKey(), entry)) {
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    private static SeatBitmap await(CompletableFuture<SeatBitmap> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
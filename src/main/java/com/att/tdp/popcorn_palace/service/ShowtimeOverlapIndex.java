@@ -0,0 +1,252 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory per-theater schedule used to answer overlap checks without a database round trip.
+// Each theater is an augmented interval tree, so a lookup costs O(log n) whatever the slot lengths.
+// The index is a cache of this node's view: another instance may move or delete a showtime, so a
+// hit must be confirmed against the database (see resync), and a miss is backed by the
+// showtimes_no_overlap constraint
+@Component
+public class ShowtimeOverlapIndex {
+
+    private final Map<String, IntervalTree> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, ShowtimeSlotDto> slotsById = new ConcurrentHashMap<>();
+
+    public void rebuild(Collection<ShowtimeSlotDto> slots) {
+        schedules.clear();
+        slotsById.clear();
+        slots.forEach(this::put);
+    }
+
+    // Add a slot, or move it if the showtime is already indexed
+    public void put(ShowtimeSlotDto slot) {
+        final ShowtimeSlotDto previous = slotsById.put(slot.getId(), slot);
+        if (previous != null) {
+            scheduleOf(previous.getTheater()).remove(previous);
+        }
+        scheduleOf(slot.getTheater()).add(slot);
+    }
+
+    public void remove(Long showtimeId) {
+        final ShowtimeSlotDto previous = slotsById.remove(showtimeId);
+        if (previous != null) {
+            scheduleOf(previous.getTheater()).remove(previous);
+        }
+    }
+
+    // Find a slot in the theater overlapping [startTime, endTime], touching boundaries included,
+    // ignoring the showtime being updated
+    public Optional<ShowtimeSlotDto> findOverlap(Long excludedId, String theater,
+                                                 LocalDateTime startTime, LocalDateTime endTime) {
+        final IntervalTree schedule = schedules.get(theater);
+        return schedule == null ? Optional.empty() : schedule.findOverlap(excludedId, startTime, endTime);
+    }
+
+    // Replace what the index holds for [startTime, endTime] in the theater with the slots the
+    // database returned for that window, dropping the ones moved or deleted elsewhere
+    public void resync(String theater, LocalDateTime startTime, LocalDateTime endTime,
+                       Collection<ShowtimeSlotDto> current) {
+        final IntervalTree schedule = schedules.get(theater);
+        if (schedule != null) {
+            for (ShowtimeSlotDto stale : schedule.findAllOverlapping(startTime, endTime)) {
+                slotsById.remove(stale.getId(), stale);
+                schedule.remove(stale);
+            }
+        }
+        current.forEach(this::put);
+    }
+
+    private IntervalTree scheduleOf(String theater) {
+        return schedules.computeIfAbsent(theater, t -> new IntervalTree());
+    }
+
+    private record SlotKey(LocalDateTime startTime, long id) implements Comparable<SlotKey> {
+
+        @Override
+        public int compareTo(SlotKey other) {
+            final int byStart = startTime.compareTo(other.startTime);
+            return byStart != 0 ? byStart : Long.compare(id, other.id);
+        }
+    }
+
+    // AVL tree ordered by (start, id). Every node also keeps the latest end time in its subtree,
+    // which lets a search skip any subtree that ends before the requested window
+    private static final class IntervalTree {
+
+        private Node root;
+
+        synchronized void add(ShowtimeSlotDto slot) {
+            root = insert(root, slot);
+        }
+
+        synchronized void remove(ShowtimeSlotDto slot) {
+            root = delete(root, keyOf(slot));
+        }
+
+        synchronized Optional<ShowtimeSlotDto> findOverlap(Long excludedId, LocalDateTime startTime,
+                                                           LocalDateTime endTime) {
+            return Optional.ofNullable(search(root, excludedId, startTime, endTime));
+        }
+
+        synchronized List<ShowtimeSlotDto> findAllOverlapping(LocalDateTime startTime, LocalDateTime endTime) {
+            final List<ShowtimeSlotDto> found = new ArrayList<>();
+            collect(root, startTime, endTime, found);
+            return found;
+        }
+
+        private static ShowtimeSlotDto search(Node node, Long excludedId, LocalDateTime startTime,
+                                              LocalDateTime endTime) {
+            if (node == null || node.maxEnd.isBefore(startTime)) {
+                return null;
+            }
+            final ShowtimeSlotDto left = search(node.left, excludedId, startTime, endTime);
+            if (left != null) {
+                return left;
+            }
+            // This slot and everything to its right start after the window
+            if (node.slot.getStartTime().isAfter(endTime)) {
+                return null;
+            }
+            if (!node.slot.getEndTime().isBefore(startTime) && !node.slot.getId().equals(excludedId)) {
+                return node.slot;
+            }
+            return search(node.right, excludedId, startTime, endTime);
+        }
+
+        private static void collect(Node node, LocalDateTime startTime, LocalDateTime endTime,
+                                    List<ShowtimeSlotDto> found) {
+            if (node == null || node.maxEnd.isBefore(startTime)) {
+                return;
+            }
+            collect(node.left, startTime, endTime, found);
+            if (node.slot.getStartTime().isAfter(endTime)) {
+                return;
+            }
+            if (!node.slot.getEndTime().isBefore(startTime)) {
+                found.add(node.slot);
+            }
+            collect(node.right, startTime, endTime, found);
+        }
+
+        private static Node insert(Node node, ShowtimeSlotDto slot) {
+            if (node == null) {
+                return new Node(slot);
+            }
+            if (keyOf(slot).compareTo(node.key) < 0) {
+                node.left = insert(node.left, slot);
+            } else {
+                node.right = insert(node.right, slot);
+            }
+            return balance(node);
+        }
+
+        private static Node delete(Node node, SlotKey key) {
+            if (node == null) {
+                return null;
+            }
+            final int comparison = key.compareTo(node.key);
+            if (comparison < 0) {
+                node.left = delete(node.left, key);
+            } else if (comparison > 0) {
+                node.right = delete(node.right, key);
+            } else {
+                if (node.left == null) {
+                    return node.right;
+                }
+                if (node.right == null) {
+                    return node.left;
+                }
+                // Take the next slot in order as this node's replacement
+                Node successor = node.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                node.right = delete(node.right, successor.key);
+                node.key = successor.key;
+                node.slot = successor.slot;
+            }
+            return balance(node);
+        }
+
+        private static Node balance(Node node) {
+            node.update();
+            final int skew = height(node.left) - height(node.right);
+            if (skew > 1) {
+                if (height(node.left.left) < height(node.left.right)) {
+                    node.left = rotateLeft(node.left);
+                }
+                return rotateRight(node);
+            }
+            if (skew < -1) {
+                if (height(node.right.right) < height(node.right.left)) {
+                    node.right = rotateRight(node.right);
+                }
+                return rotateLeft(node);
+            }
+            return node;
+        }
+
+        private static Node rotateRight(Node node) {
+            final Node pivot = node.left;
+            node.left = pivot.right;
+            pivot.right = node;
+            node.update();
+            pivot.update();
+            return pivot;
+        }
+
+        private static Node rotateLeft(Node node) {
+            final Node pivot = node.right;
+            node.right = pivot.left;
+            pivot.left = node;
+            node.update();
+            pivot.update();
+            return pivot;
+        }
+
+        private static int height(Node node) {
+            return node == null ? 0 : node.height;
+        }
+
+        private static SlotKey keyOf(ShowtimeSlotDto slot) {
+            return new SlotKey(slot.getStartTime(), slot.getId());
+        }
+    }
+
+    private static final class Node {
+
+        private SlotKey key;
+        private ShowtimeSlotDto slot;
+        private Node left;
+        private Node right;
+        private int height = 1;
+        private LocalDateTime maxEnd;
+
+        Node(ShowtimeSlotDto slot) {
+            this.key = IntervalTree.keyOf(slot);
+            this.slot = slot;
+            this.maxEnd = slot.getEndTime();
+        }
+
+        void update() {
+            height = 1 + Math.max(IntervalTree.height(left), IntervalTree.height(right));
+            maxEnd = slot.getEndTime();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
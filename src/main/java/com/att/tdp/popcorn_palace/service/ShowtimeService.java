@@ -2,36 +2,63 @@ package com.att.tdp.popcorn_palace.service;
 
 import com.att.tdp.popcorn_palace.Exception.AppException;
 import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.Exception.ShowtimeScheduleConflictException;
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.dto.SeatMapDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeConflictDto;
 import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
 import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleRequestDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto;
 
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
-import com.att.tdp.popcorn_palace.model.Ticket;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
+@Profile("!reactive")
+@Timed("service.calls")
 public class ShowtimeService {
 
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final TicketRepository ticketRepository;
+    private final ShowtimeOverlapIndex overlapIndex;
+    private final SeatOccupancyIndex seatIndex;
 
     public ShowtimeService(ShowtimeRepository showtimeRepository,
                            MovieRepository movieRepository,
-                           TicketRepository ticketRepository) {
+                           TicketRepository ticketRepository,
+                           ShowtimeOverlapIndex overlapIndex,
+                           SeatOccupancyIndex seatIndex) {
         this.showtimeRepository = showtimeRepository;
         this.movieRepository = movieRepository;
         this.ticketRepository = ticketRepository;
+        this.overlapIndex = overlapIndex;
+        this.seatIndex = seatIndex;
+    }
+
+    // Load every showtime interval before the service takes requests
+    @PostConstruct
+    public void loadOverlapIndex() {
+        overlapIndex.rebuild(showtimeRepository.findAllSlots());
     }
 
     @Transactional
@@ -39,11 +66,7 @@ public class ShowtimeService {
 
         // Verify movie existence, throw an exception if the movie is not found
         final Movie movie = movieRepository.findById(requestDto.getMovieId())
-                .orElseThrow(() -> new AppException(
-                        "Movie with ID '" + requestDto.getMovieId() + "' not found",
-                        HttpStatus.NOT_FOUND,
-                        ErrorType.MOVIE_NOT_FOUND
-                ));
+                .orElseThrow(() -> movieNotFound(requestDto.getMovieId()));
 
         //Validate showtime data
         validateShowtime(requestDto, movie);
@@ -61,24 +84,74 @@ public class ShowtimeService {
                 .price(requestDto.getPrice())
                 .build();
 
-        final Showtime saved = showtimeRepository.save(showtime);
-        return convertToResponseDTO(saved);
+        final Showtime saved = saveShowtime(showtime);
+        indexAfterCommit(saved);
+        return convertToResponseDTO(saved, movie);
+    }
+
+    @Transactional
+    public List<ShowtimeResponseDto> scheduleShowtimes(ShowtimeScheduleRequestDto scheduleDto) {
+
+        // Verify movie existence, throw an exception if the movie is not found
+        final Movie movie = movieRepository.findById(scheduleDto.getMovieId())
+                .orElseThrow(() -> movieNotFound(scheduleDto.getMovieId()));
+
+        // Expand the recurrence and validate every occurrence before looking at the theater
+        final List<ShowtimeRequestDto> requests = expandSchedule(scheduleDto);
+        for (ShowtimeRequestDto request : requests) {
+            validateShowtime(request, movie);
+        }
+
+        // One range query for the theater, then a single sweep over it and the new showtimes
+        final String theater = scheduleDto.getTheater();
+        final List<ShowtimeSlotDto> existing = showtimeRepository.findSlotsByTheaterBetween(theater,
+                requests.get(0).getStartTime(), requests.get(requests.size() - 1).getEndTime());
+        final List<ShowtimeConflictDto> conflicts = findConflicts(requests, existing);
+        if (!conflicts.isEmpty()) {
+            throw new ShowtimeScheduleConflictException(theater, conflicts);
+        }
+
+        final List<Showtime> showtimes = requests.stream()
+                .map(request -> Showtime.builder()
+                        .movieId(request.getMovieId())
+                        .theater(request.getTheater())
+                        .startTime(request.getStartTime())
+                        .endTime(request.getEndTime())
+                        .price(request.getPrice())
+                        .build())
+                .toList();
+
+        final List<Showtime> saved = saveShowtimes(theater, showtimes);
+        saved.forEach(this::indexAfterCommit);
+        return saved.stream().map(showtime -> convertToResponseDTO(showtime, movie)).toList();
     }
 
 
     @Transactional(readOnly = true)
     public ShowtimeResponseDto getShowtimeById(Long id) {
 
-        // Verify showtime existence, throw an exception if the showtime is not found
-        final Showtime showtime = showtimeRepository.findById(id)
-                .orElseThrow(() -> new AppException(
-                        "Showtime with ID '" + id + "' not found",
-                        HttpStatus.NOT_FOUND,
-                        ErrorType.SHOWTIME_NOT_FOUND
-                ));
+        // Load the showtime and its movie details in one query, throw an exception if the showtime is not found
+        return showtimeRepository.findResponseById(id)
+                .orElseThrow(() -> showtimeNotFound(id));
+    }
 
-        // Convert and return showtime as a response DTO
-        return convertToResponseDTO(showtime);
+    public SeatMapDto getSeatMap(Long id) {
+
+        // Served from the same bitmap bookings claim seats in; the database is only
+        // consulted the first time a showtime is seen
+        SeatBitmap seats = seatIndex.find(id);
+        if (seats == null) {
+            if (!showtimeRepository.existsById(id)) {
+                throw showtimeNotFound(id);
+            }
+            seats = seatIndex.getOrLoad(id, () -> ticketRepository.findSeatNumbersByShowtimeId(id));
+        }
+
+        return SeatMapDto.builder()
+                .showtimeId(id)
+                .bookedSeats(seats.countTaken())
+                .bitmap(Base64.getEncoder().encodeToString(seats.toByteArray()))
+                .build();
     }
 
 
@@ -87,19 +160,11 @@ public class ShowtimeService {
 
         // Verify showtime existence, throw an exception if the showtime is not found
         final Showtime existing = showtimeRepository.findById(id)
-                .orElseThrow(() -> new AppException(
-                        "Showtime with ID '" + id + "' not found",
-                        HttpStatus.NOT_FOUND,
-                        ErrorType.SHOWTIME_NOT_FOUND
-                ));
+                .orElseThrow(() -> showtimeNotFound(id));
 
         // Verify movie ID existence, throw an exception if the movie ID is not found
         final Movie movie = movieRepository.findById(requestDto.getMovieId())
-                .orElseThrow(() -> new AppException(
-                        "Movie with ID '" + requestDto.getMovieId() + "' not found",
-                        HttpStatus.NOT_FOUND,
-                        ErrorType.MOVIE_NOT_FOUND
-                ));
+                .orElseThrow(() -> movieNotFound(requestDto.getMovieId()));
 
         // Validate showtime data
         validateShowtime(requestDto, movie);
@@ -118,29 +183,31 @@ public class ShowtimeService {
         existing.setEndTime(requestDto.getEndTime());
         existing.setPrice(requestDto.getPrice());
 
-        final Showtime updated = showtimeRepository.save(existing);
+        final Showtime updated = saveShowtime(existing);
+        indexAfterCommit(updated);
 
         // Convert and return showtime as a response DTO
-        return convertToResponseDTO(updated);
+        return convertToResponseDTO(updated, movie);
     }
 
 
     @Transactional
     public void deleteShowtime(Long id) {
 
-        // Verify showtime existence, throw an exception if the showtime is not found
-        final Showtime showtime = showtimeRepository.findById(id).orElseThrow(() -> new AppException(
-                "showtime not found",
-                HttpStatus.NOT_FOUND,
-                ErrorType.SHOWTIME_NOT_FOUND,
-                "Movie with title '" + id + "' does not exist"
-        ));
-
-        for (Ticket ticket : showtime.getTickets()) {
-            ticketRepository.delete(ticket);
+        // Mark it deleted; its tickets and the row are purged in the background. No row updated
+        // means there was no live showtime with this id
+        if (showtimeRepository.markDeletedById(id, LocalDateTime.now()) == 0) {
+            throw new AppException(
+                    "showtime not found",
+                    HttpStatus.NOT_FOUND,
+                    ErrorType.SHOWTIME_NOT_FOUND,
+                    "Showtime with id '" + id + "' does not exist"
+            );
         }
-
-        showtimeRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> {
+            overlapIndex.remove(id);
+            seatIndex.evict(id);
+        });
     }
 
     // Validate showtime duration against movie length, ensuring sufficient screening time
@@ -160,57 +227,185 @@ public class ShowtimeService {
 
     }
 
-    // Check for scheduling conflicts by identifying overlapping showtimes in the same theater
+    // One showtime per start time on every matching day, in start order
+    private List<ShowtimeRequestDto> expandSchedule(ShowtimeScheduleRequestDto scheduleDto) {
+        final List<LocalTime> startTimes = scheduleDto.getStartTimes().stream().distinct().sorted().toList();
+        final List<ShowtimeRequestDto> requests = new ArrayList<>();
+        for (LocalDate day = scheduleDto.getStartDate(); !day.isAfter(scheduleDto.getEndDate()); day = day.plusDays(1)) {
+            if (scheduleDto.getDaysOfWeek() != null && !scheduleDto.getDaysOfWeek().isEmpty()
+                    && !scheduleDto.getDaysOfWeek().contains(day.getDayOfWeek())) {
+                continue;
+            }
+            for (LocalTime startTime : startTimes) {
+                if (requests.size() == ShowtimeScheduleRequestDto.MAX_SHOWTIMES) {
+                    throw new AppException(
+                            "The schedule expands to more than " + ShowtimeScheduleRequestDto.MAX_SHOWTIMES + " showtimes",
+                            HttpStatus.BAD_REQUEST,
+                            ErrorType.VALIDATION_ERROR
+                    );
+                }
+                final LocalDateTime start = day.atTime(startTime);
+                requests.add(ShowtimeRequestDto.builder()
+                        .movieId(scheduleDto.getMovieId())
+                        .theater(scheduleDto.getTheater())
+                        .startTime(start)
+                        .endTime(start.plusMinutes(scheduleDto.getDurationMinutes()))
+                        .price(scheduleDto.getPrice())
+                        .build());
+            }
+        }
+
+        if (requests.isEmpty()) {
+            throw new AppException(
+                    "The schedule does not produce any showtimes",
+                    HttpStatus.BAD_REQUEST,
+                    ErrorType.VALIDATION_ERROR
+            );
+        }
+        return requests;
+    }
+
+    // Sweep line over the requested and existing showtimes in start order, keeping the one that
+    // reaches furthest: a showtime starting at or before its end overlaps it (closed intervals, as
+    // in ShowtimeOverlapIndex). Every requested showtime that overlaps anything lands in a pair
+    private static List<ShowtimeConflictDto> findConflicts(List<ShowtimeRequestDto> requests,
+                                                           List<ShowtimeSlotDto> existing) {
+        // Requested showtimes have no id yet
+        final List<ShowtimeSlotDto> slots = new ArrayList<>(requests.size() + existing.size());
+        for (ShowtimeRequestDto request : requests) {
+            slots.add(new ShowtimeSlotDto(null, request.getTheater(), request.getStartTime(), request.getEndTime()));
+        }
+        slots.addAll(existing);
+        slots.sort(Comparator.comparing(ShowtimeSlotDto::getStartTime));
+
+        final List<ShowtimeConflictDto> conflicts = new ArrayList<>();
+        ShowtimeSlotDto furthest = null;
+        for (ShowtimeSlotDto slot : slots) {
+            if (furthest != null && !slot.getStartTime().isAfter(furthest.getEndTime())) {
+                if (slot.getId() == null) {
+                    conflicts.add(conflict(slot, furthest));
+                } else if (furthest.getId() == null) {
+                    conflicts.add(conflict(furthest, slot));
+                }
+            }
+            if (furthest == null || slot.getEndTime().isAfter(furthest.getEndTime())) {
+                furthest = slot;
+            }
+        }
+        return conflicts;
+    }
+
+    private static ShowtimeConflictDto conflict(ShowtimeSlotDto requested, ShowtimeSlotDto other) {
+        return ShowtimeConflictDto.builder()
+                .startTime(requested.getStartTime())
+                .endTime(requested.getEndTime())
+                .conflictingShowtimeId(other.getId())
+                .conflictingStartTime(other.getStartTime())
+                .conflictingEndTime(other.getEndTime())
+                .build();
+    }
+
+    // Fast in-memory conflict check; the showtimes_no_overlap constraint remains the final arbiter.
+    // A miss needs no query. A hit may be a slot another instance has since moved or deleted, so it
+    // is confirmed against the database, and the index is corrected for the window either way
     private void checkForOverlappingShowtimes(Long currentId, String theater,
                                               LocalDateTime startTime, LocalDateTime endTime) {
-        final List<Showtime> overlappingShowtimes = showtimeRepository.findOverlappingShowtimes(
-                theater, startTime, endTime);
+        if (overlapIndex.findOverlap(currentId, theater, startTime, endTime).isEmpty()) {
+            return;
+        }
+        final List<ShowtimeSlotDto> current =
+                showtimeRepository.findSlotsByTheaterBetween(theater, startTime, endTime);
+        overlapIndex.resync(theater, startTime, endTime, current);
+        if (current.stream().anyMatch(slot -> !slot.getId().equals(currentId))) {
+            throw overlappingShowtime(theater, startTime, endTime);
+        }
+    }
 
-        overlappingShowtimes.removeIf(s ->
-                s.getId() != null && currentId != null && s.getId().equals(currentId));
+    // Flush so a violation of the non-overlap constraint by a concurrent write surfaces here, as does
+    // a movie deleted since it was read above: the movie is not locked by that read, the
+    // showtimes_require_active_movie trigger checks it again within the INSERT or UPDATE
+    private Showtime saveShowtime(Showtime showtime) {
+        try {
+            final Showtime saved = showtimeRepository.save(showtime);
+            showtimeRepository.flush();
+            return saved;
+        } catch (RuntimeException e) {
+            if (SqlStates.hasSqlState(e, SqlStates.EXCLUSION_VIOLATION)) {
+                throw overlappingShowtime(showtime.getTheater(), showtime.getStartTime(), showtime.getEndTime());
+            }
+            if (SqlStates.hasSqlState(e, SqlStates.MOVIE_NOT_ACTIVE)) {
+                throw movieNotFound(showtime.getMovieId());
+            }
+            throw e;
+        }
+    }
 
-        if (!overlappingShowtimes.isEmpty()) {
-            throw new AppException(
-                    "There is already a showtime scheduled in theater '" + theater +
-                            "' that overlaps with the specified time period.",
-                    HttpStatus.CONFLICT,
-                    ErrorType.OVERLAPPING_SHOWTIME,
-                    "Conflicting showtimes found in theater '" + theater + "' between " +
-                            startTime + " and " + endTime
-            );
+    // One batched insert for the whole schedule; the constraint still catches a concurrent conflict
+    private List<Showtime> saveShowtimes(String theater, List<Showtime> showtimes) {
+        try {
+            final List<Showtime> saved = showtimeRepository.saveAll(showtimes);
+            showtimeRepository.flush();
+            return saved;
+        } catch (RuntimeException e) {
+            if (SqlStates.hasSqlState(e, SqlStates.EXCLUSION_VIOLATION)) {
+                throw new AppException(
+                        "A showtime overlapping the schedule was added concurrently in theater '" + theater + "'",
+                        HttpStatus.CONFLICT,
+                        ErrorType.OVERLAPPING_SHOWTIME
+                );
+            }
+            if (SqlStates.hasSqlState(e, SqlStates.MOVIE_NOT_ACTIVE)) {
+                throw movieNotFound(showtimes.get(0).getMovieId());
+            }
+            throw e;
         }
     }
 
-    private Movie getMovieById(Long id) {
-        return movieRepository.findById(id)
-                .orElseThrow(() -> new AppException(
-                        "Movie with ID '" + id + "' not found",
-                        HttpStatus.NOT_FOUND,
-                        ErrorType.MOVIE_NOT_FOUND
-                ));
+    private static AppException movieNotFound(Long movieId) {
+        return new AppException(
+                "Movie with ID '" + movieId + "' not found",
+                HttpStatus.NOT_FOUND,
+                ErrorType.MOVIE_NOT_FOUND
+        );
     }
 
-    // Convert Movie model to MovieResponseDto for API response
-    private ShowtimeResponseDto convertToResponseDTO(Showtime showtime) {
+    private AppException overlappingShowtime(String theater, LocalDateTime startTime, LocalDateTime endTime) {
+        return new AppException(
+                "There is already a showtime scheduled in theater '" + theater +
+                        "' that overlaps with the specified time period.",
+                HttpStatus.CONFLICT,
+                ErrorType.OVERLAPPING_SHOWTIME,
+                "Conflicting showtimes found in theater '" + theater + "' between " +
+                        startTime + " and " + endTime
+        );
+    }
+
+    // The index only reflects committed showtimes, so rolled-back writes never block a slot
+    private void indexAfterCommit(Showtime showtime) {
+        final ShowtimeSlotDto slot = new ShowtimeSlotDto(showtime.getId(), showtime.getTheater(),
+                showtime.getStartTime(), showtime.getEndTime());
+        TransactionCallbacks.afterCommit(() -> overlapIndex.put(slot));
+    }
+
+    // Convert Showtime model to ShowtimeResponseDto, reusing the movie the caller already loaded
+    private ShowtimeResponseDto convertToResponseDTO(Showtime showtime, Movie movie) {
         return ShowtimeResponseDto.builder()
                 .id(showtime.getId())
                 .theater(showtime.getTheater())
                 .startTime(showtime.getStartTime())
                 .endTime(showtime.getEndTime())
                 .price(showtime.getPrice())
-                .movieTitle(getMovieById(showtime.getMovieId()).getTitle())
-                .movieReleaseYear(getMovieById(showtime.getMovieId()).getReleaseYear())
+                .movieTitle(movie.getTitle())
+                .movieReleaseYear(movie.getReleaseYear())
                 .build();
     }
 
-
+    // Also raised by the reactive read path, so both stacks answer a missing showtime alike
+    static AppException showtimeNotFound(Long id) {
+        return new AppException(
+                "Showtime with ID '" + id + "' not found",
+                HttpStatus.NOT_FOUND,
+                ErrorType.SHOWTIME_NOT_FOUND
+        );
+    }
 }
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,232 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Booking mode for flash sales (popcorn-palace.booking.mode=single-writer). Bookings are queued in
+// a mailbox per showtime and drained by at most one virtual thread per showtime, which decides the
+// seats in arrival order and group-commits every winner of a drain in one transaction. Contention
+// on a hot showtime becomes queueing in memory instead of lock waits on the same index pages.
+// A mailbox only exists while bookings for its showtime are queued or being written.
+@Service
+@Profile("!reactive")
+@Timed("service.calls")
+@Primary
+@ConditionalOnProperty(name = "popcorn-palace.booking.mode", havingValue = "single-writer")
+public class SingleWriterBookingEngine implements BookingEngine {
+
+    private static final int MAX_GROUP_SIZE = 256;
+
+    private record PendingBooking(TicketRequestDto request, CompletableFuture<TicketResponseDto> result) {
+    }
+
+    private static final class Mailbox {
+        private final Long showtimeId;
+        private final Queue<PendingBooking> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Mailbox(Long showtimeId) {
+            this.showtimeId = showtimeId;
+        }
+    }
+
+    private final ShowtimeRepository showtimeRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatOccupancyIndex seatIndex;
+    private final BookingIdGenerator bookingIdGenerator;
+    private final TicketWriter ticketWriter;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SingleWriterBookingEngine(ShowtimeRepository showtimeRepository, TicketRepository ticketRepository,
+                                     SeatOccupancyIndex seatIndex, BookingIdGenerator bookingIdGenerator,
+                                     TicketWriter ticketWriter) {
+        this.showtimeRepository = showtimeRepository;
+        this.ticketRepository = ticketRepository;
+        this.seatIndex = seatIndex;
+        this.bookingIdGenerator = bookingIdGenerator;
+        this.ticketWriter = ticketWriter;
+    }
+
+    @PreDestroy
+    void stopWriters() {
+        writers.shutdown();
+    }
+
+    @Override
+    public TicketResponseDto bookTicket(TicketRequestDto ticketRequestDto) {
+        final Long showtimeId = ticketRequestDto.getShowtimeId();
+
+        // Seats already known to be taken never enter the queue
+        final SeatBitmap knownSeats = seatIndex.find(showtimeId);
+        if (knownSeats != null && knownSeats.isTaken(ticketRequestDto.getSeatNumber())) {
+            throw TicketService.seatAlreadyBooked(ticketRequestDto.getSeatNumber());
+        }
+
+        // Unknown ids never get a mailbox. A cached bitmap skips the query; whether the showtime
+        // is still active is settled by the insert, which locks it
+        if (knownSeats == null && !showtimeRepository.existsById(showtimeId)) {
+            throw TicketService.showtimeNotFound(showtimeId);
+        }
+
+        // Queued under the map's lock for the key, so it cannot race the removal of a drained mailbox
+        final PendingBooking booking = new PendingBooking(ticketRequestDto, new CompletableFuture<>());
+        final Mailbox mailbox = mailboxes.compute(showtimeId, (id, existing) -> {
+            final Mailbox target = existing != null ? existing : new Mailbox(id);
+            target.queue.add(booking);
+            return target;
+        });
+        scheduleDrain(mailbox);
+
+        try {
+            return booking.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void scheduleDrain(Mailbox mailbox) {
+        if (mailbox.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        try {
+            List<PendingBooking> group;
+            while (!(group = pollGroup(mailbox)).isEmpty()) {
+                writeGroup(mailbox.showtimeId, group);
+            }
+        } finally {
+            mailbox.draining.set(false);
+            // A booking queued after the last poll but before the flag cleared still gets a writer;
+            // otherwise the mailbox goes, unless a booking or another writer got in meanwhile
+            if (!mailbox.queue.isEmpty()) {
+                scheduleDrain(mailbox);
+            } else {
+                mailboxes.computeIfPresent(mailbox.showtimeId, (id, current) ->
+                        current == mailbox && current.queue.isEmpty() && !current.draining.get() ? null : current);
+            }
+        }
+    }
+
+    private List<PendingBooking> pollGroup(Mailbox mailbox) {
+        final List<PendingBooking> group = new ArrayList<>();
+        PendingBooking booking;
+        while (group.size() < MAX_GROUP_SIZE && (booking = mailbox.queue.poll()) != null) {
+            group.add(booking);
+        }
+        return group;
+    }
+
+    private void writeGroup(Long showtimeId, List<PendingBooking> group) {
+        final List<PendingBooking> winners = new ArrayList<>(group.size());
+        final List<Ticket> tickets = new ArrayList<>(group.size());
+        SeatBitmap seats = null;
+        try {
+            seats = seatIndex.find(showtimeId);
+            if (seats == null) {
+                // Deleted after the bookings were queued
+                if (!showtimeRepository.existsById(showtimeId)) {
+                    final AppException notFound = TicketService.showtimeNotFound(showtimeId);
+                    group.forEach(booking -> booking.result().completeExceptionally(notFound));
+                    return;
+                }
+                seats = seatIndex.getOrLoad(showtimeId, () -> ticketRepository.findSeatNumbersByShowtimeId(showtimeId));
+            }
+
+            // Seat decisions in arrival order; only the first request for a seat goes to the database
+            for (PendingBooking booking : group) {
+                final int seatNumber = booking.request().getSeatNumber();
+                if (!seats.tryClaim(seatNumber)) {
+                    booking.result().completeExceptionally(TicketService.seatAlreadyBooked(seatNumber));
+                    continue;
+                }
+                winners.add(booking);
+                tickets.add(Ticket.builder()
+                        .showtimeId(showtimeId)
+                        .seatNumber(seatNumber)
+                        .userId(booking.request().getUserId())
+                        .bookingId(bookingIdGenerator.nextId())
+                        .build());
+            }
+            if (winners.isEmpty()) {
+                return;
+            }
+
+            final TicketWriter.Result[] results = ticketWriter.writeAll(tickets);
+            // Deleted by another instance while this node still had its seats cached
+            if (results[0].outcome() == TicketWriter.Outcome.SHOWTIME_NOT_ACTIVE) {
+                seatIndex.evict(showtimeId);
+            }
+            boolean bookedBehindBitmap = false;
+            for (int i = 0; i < winners.size(); i++) {
+                final PendingBooking booking = winners.get(i);
+                final int seatNumber = tickets.get(i).getSeatNumber();
+                switch (results[i].outcome()) {
+                    case INSERTED -> {
+                        seats.settle(1);
+                        booking.result().complete(TicketResponseDto.builder()
+                                .bookingId(Long.toString(tickets.get(i).getBookingId()))
+                                .build());
+                    }
+                    case SEAT_TAKEN -> {
+                        seats.release(seatNumber);
+                        bookedBehindBitmap = true;
+                        booking.result().completeExceptionally(TicketService.seatAlreadyBooked(seatNumber));
+                    }
+                    case SHOWTIME_NOT_ACTIVE -> {
+                        seats.release(seatNumber);
+                        booking.result().completeExceptionally(TicketService.showtimeNotFound(showtimeId));
+                    }
+                    case FAILED -> {
+                        seats.release(seatNumber);
+                        booking.result().completeExceptionally(results[i].failure());
+                    }
+                }
+            }
+            // Seats were booked behind this node's bitmap; catch it up with the table once per group
+            if (bookedBehindBitmap) {
+                seatIndex.refresh(showtimeId, () -> ticketRepository.findSeatNumbersByShowtimeId(showtimeId));
+            }
+        } catch (RuntimeException e) {
+            // Nothing of the group was written: give back the claims and fail whoever is still waiting
+            for (int i = 0; i < winners.size(); i++) {
+                if (!winners.get(i).result().isDone()) {
+                    seats.release(tickets.get(i).getSeatNumber());
+                }
+            }
+            group.forEach(booking -> booking.result().completeExceptionally(e));
+        }
+    }
+
+    // Showtimes with bookings queued or being written
+    public int activeMailboxes() {
+        return mailboxes.size();
+    }
+}
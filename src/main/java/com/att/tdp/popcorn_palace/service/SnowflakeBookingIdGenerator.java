@@ -0,0 +1,48 @@
+package com.att.tdp.popcorn_palace.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Snowflake-style ids: 41 bits of milliseconds since 2025, 10 bits of node id and a 12-bit
+// per-millisecond sequence. Ids from one node only ever grow, so tickets.booking_id inserts
+// append to the right edge of its index instead of landing at random pages.
+@Component
+public class SnowflakeBookingIdGenerator implements BookingIdGenerator {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+
+    // Last issued timestamp and sequence packed together, so one CAS advances both
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeBookingIdGenerator(@Value("${popcorn-palace.booking.node-id}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public long nextId() {
+        final long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long previous;
+        long next;
+        do {
+            previous = lastState.get();
+            // A full sequence carries into the next millisecond and a clock that steps back is
+            // ignored, so ids stay unique and increasing without ever waiting
+            next = Math.max(now << SEQUENCE_BITS, previous + 1);
+        } while (!lastState.compareAndSet(previous, next));
+
+        final long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+    }
+}
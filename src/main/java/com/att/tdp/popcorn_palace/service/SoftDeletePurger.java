@@ -0,0 +1,114 @@
+package com.att.tdp.popcorn_palace.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Removes soft-deleted showtimes and movies in small batches off the request path: tickets of
+// deleted showtimes first, then showtimes left without tickets, then movies left without
+// showtimes. Every batch is a single auto-committed statement, so locks are held briefly, and
+// all progress lives in the deleted_at markers, so a restart resumes where the last run stopped.
+@Slf4j
+@Service
+@Profile("!reactive")
+public class SoftDeletePurger {
+
+    static final String PURGED_ROWS_METRIC = "purge.rows";
+
+    private static final String PURGE_TICKETS =
+            "DELETE FROM tickets WHERE id IN (SELECT t.id FROM tickets t "
+                    + "JOIN showtimes s ON s.id = t.showtime_id WHERE s.deleted_at IS NOT NULL LIMIT ?)";
+    private static final String PURGE_SHOWTIMES =
+            "DELETE FROM showtimes WHERE id IN (SELECT s.id FROM showtimes s WHERE s.deleted_at IS NOT NULL "
+                    + "AND NOT EXISTS (SELECT 1 FROM tickets t WHERE t.showtime_id = s.id) LIMIT ?)";
+    private static final String PURGE_MOVIES =
+            "DELETE FROM movies WHERE id IN (SELECT m.id FROM movies m WHERE m.deleted_at IS NOT NULL "
+                    + "AND NOT EXISTS (SELECT 1 FROM showtimes s WHERE s.movie_id = m.id) LIMIT ?)";
+
+    private record Stage(String sql, Counter purgedRows) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Stage> stages;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public SoftDeletePurger(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${popcorn-palace.purge.batch-size}") int batchSize,
+                            @Value("${popcorn-palace.purge.max-batches-per-run}") int maxBatchesPerRun,
+                            @Value("${popcorn-palace.purge.interval}") Duration interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.interval = interval;
+        this.stages = List.of(
+                new Stage(PURGE_TICKETS, purgedRows(meterRegistry, "tickets")),
+                new Stage(PURGE_SHOWTIMES, purgedRows(meterRegistry, "showtimes")),
+                new Stage(PURGE_MOVIES, purgedRows(meterRegistry, "movies")));
+    }
+
+    @PostConstruct
+    void startScheduler() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "soft-delete-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purge();
+            } catch (RuntimeException e) {
+                log.error("Failed to purge soft-deleted rows", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopScheduler() {
+        scheduler.shutdownNow();
+    }
+
+    // One run: at most maxBatchesPerRun rounds of one batch per table, stopping early once a
+    // round finds nothing left. Returns the number of rows removed
+    public long purge() {
+        long purged = 0;
+        for (int round = 0; round < maxBatchesPerRun; round++) {
+            int removed = 0;
+            for (Stage stage : stages) {
+                final int rows = jdbcTemplate.update(stage.sql(), batchSize);
+                stage.purgedRows().increment(rows);
+                removed += rows;
+            }
+            if (removed == 0) {
+                break;
+            }
+            purged += removed;
+        }
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted rows", purged);
+        }
+        return purged;
+    }
+
+    private static Counter purgedRows(MeterRegistry meterRegistry, String table) {
+        return Counter.builder(PURGED_ROWS_METRIC)
+                .description("Soft-deleted rows removed by the background purger")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,145 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.model.Ticket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Group commit for the direct booking path: inserts arriving within one short window are flushed
+// by a single virtual thread as one JDBC batch in one transaction, so concurrent bookings share a
+// round trip and a commit instead of paying for one each. Every caller still gets its own outcome.
+@Component
+@Profile("!reactive")
+public class TicketInsertBatcher {
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private record PendingInsert(Ticket ticket, CompletableFuture<TicketWriter.Outcome> result) {
+    }
+
+    private final TicketWriter ticketWriter;
+    private final long windowNanos;
+    private final BlockingQueue<PendingInsert> queue = new LinkedBlockingQueue<>();
+    private Thread flusher;
+    // Set before the flusher is stopped; no insert may wait on the queue after that
+    private volatile boolean closed;
+
+    public TicketInsertBatcher(TicketWriter ticketWriter,
+                               @Value("${popcorn-palace.booking.group-commit-window}") Duration window) {
+        this.ticketWriter = ticketWriter;
+        this.windowNanos = window.toNanos();
+    }
+
+    @PostConstruct
+    public void startFlusher() {
+        if (windowNanos > 0) {
+            flusher = Thread.ofVirtual().name("ticket-group-commit").start(this::flushLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stopFlusher() {
+        closed = true;
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+    }
+
+    // What became of the ticket; see TicketWriter.Outcome. A FAILED ticket throws its failure instead
+    public TicketWriter.Outcome insert(Ticket ticket) {
+        if (flusher == null) {
+            // Window of zero: no batching, the caller inserts on its own thread
+            return outcomeOf(ticketWriter.writeAll(List.of(ticket))[0]);
+        }
+
+        if (closed) {
+            throw shuttingDown();
+        }
+        final PendingInsert pending = new PendingInsert(ticket, new CompletableFuture<>());
+        queue.add(pending);
+        // Closed while enqueuing: if the flusher's final drain has not taken the insert, nothing will
+        if (closed && queue.remove(pending)) {
+            throw shuttingDown();
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void flushLoop() {
+        final List<PendingInsert> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (true) {
+                // The window opens with the first insert, so a lone booking waits at most one window
+                batch.add(queue.take());
+                final long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < MAX_BATCH_SIZE) {
+                    queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= MAX_BATCH_SIZE || remaining <= 0) {
+                        break;
+                    }
+                    final PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            final IllegalStateException shutdown = shuttingDown();
+            batch.forEach(pending -> pending.result().completeExceptionally(shutdown));
+            // Inserts that saw the batcher open may still be arriving; each is either taken here
+            // or removed again by its own caller
+            PendingInsert pending;
+            while ((pending = queue.poll()) != null) {
+                pending.result().completeExceptionally(shutdown);
+            }
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        try {
+            final TicketWriter.Result[] results =
+                    ticketWriter.writeAll(batch.stream().map(PendingInsert::ticket).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                if (results[i].outcome() == TicketWriter.Outcome.FAILED) {
+                    batch.get(i).result().completeExceptionally(results[i].failure());
+                } else {
+                    batch.get(i).result().complete(results[i].outcome());
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("Booking is shutting down");
+    }
+
+    private static TicketWriter.Outcome outcomeOf(TicketWriter.Result result) {
+        if (result.outcome() == TicketWriter.Outcome.FAILED) {
+            throw result.failure();
+        }
+        return result.outcome();
+    }
+}
@@ -2,65 +2,237 @@ package com.att.tdp.popcorn_palace.service;
 
 import com.att.tdp.popcorn_palace.Exception.AppException;
 import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.Exception.ShowtimeNotActiveException;
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
 import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
 import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
-import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.model.Ticket;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
-public class TicketService {
+@Profile("!reactive")
+@Timed("service.calls")
+public class TicketService implements BookingEngine {
 
     private final TicketRepository ticketRepository;
     private final ShowtimeRepository showtimeRepository;
+    private final SeatOccupancyIndex seatIndex;
+    private final BookingIdGenerator bookingIdGenerator;
+    private final TicketInsertBatcher ticketInsertBatcher;
+    private final Counter ticketsBooked;
 
-    public TicketService(TicketRepository ticketRepository, ShowtimeRepository showtimeRepository) {
+    public TicketService(TicketRepository ticketRepository, ShowtimeRepository showtimeRepository,
+                         SeatOccupancyIndex seatIndex, BookingIdGenerator bookingIdGenerator,
+                         TicketInsertBatcher ticketInsertBatcher, MeterRegistry meterRegistry) {
         this.ticketRepository = ticketRepository;
         this.showtimeRepository = showtimeRepository;
+        this.seatIndex = seatIndex;
+        this.bookingIdGenerator = bookingIdGenerator;
+        this.ticketInsertBatcher = ticketInsertBatcher;
+        // Single bookings are counted where they are written (TicketWriter); this counts multi-seat ones
+        this.ticketsBooked = TicketWriter.ticketsBooked(meterRegistry, "batch");
     }
 
 
-    @Transactional
+    // Insert-first: no existence query, the unique constraint rejects a second row for the seat.
+    // Deliberately not @Transactional: the insert commits on its own (TicketInsertBatcher), so a
+    // claimed seat bit is released exactly when the row did not make it into the database
+    @Override
     public TicketResponseDto bookTicket(TicketRequestDto ticketRequestDto) {
+        final Long showtimeId = ticketRequestDto.getShowtimeId();
+        final int seatNumber = ticketRequestDto.getSeatNumber();
 
-        // Verify showtime existence, throw an exception if the showtime is not found
-        final Showtime showtime = showtimeRepository.findById(ticketRequestDto.getShowtimeId())
-                .orElseThrow(() -> new AppException(
-                        "Showtime not found with ID '" + ticketRequestDto.getShowtimeId() + "'",
-                        HttpStatus.NOT_FOUND,
-                        ErrorType.SHOWTIME_NOT_FOUND
-                ));
-
-        // Verify seat availability, throwing an exception if the seat is already booked
-        if (ticketRepository.existsByShowtimeIdAndSeatNumber(
-                ticketRequestDto.getShowtimeId(), ticketRequestDto.getSeatNumber())) {
-            throw new AppException(
-                    "Seat " + ticketRequestDto.getSeatNumber() + " is already booked for this showtime",
-                    HttpStatus.CONFLICT,
-                    ErrorType.SEAT_ALREADY_BOOKED
-            );
+        // Reject seats already known to be taken without a database round trip
+        final SeatBitmap knownSeats = seatIndex.find(showtimeId);
+        if (knownSeats != null && knownSeats.isTaken(seatNumber)) {
+            throw seatAlreadyBooked(seatNumber);
+        }
+
+        // Unknown ids never claim a seat. A cached bitmap skips the query; whether the showtime is
+        // still active is settled by the insert, which checks it with the showtime locked
+        requireShowtime(showtimeId, knownSeats);
+
+        // Claim the seat in memory; only the winner of the claim goes on to insert
+        final SeatBitmap seats = seatIndex.getOrLoad(showtimeId,
+                () -> ticketRepository.findSeatNumbersByShowtimeId(showtimeId));
+        if (!seats.tryClaim(seatNumber)) {
+            throw seatAlreadyBooked(seatNumber);
         }
 
-        final String bookingId = UUID.randomUUID().toString();
+        final long bookingId = bookingIdGenerator.nextId();
 
         final Ticket ticket = Ticket.builder()
-                .showtimeId(showtime.getId())
-                .seatNumber(ticketRequestDto.getSeatNumber())
+                .showtimeId(showtimeId)
+                .seatNumber(seatNumber)
                 .userId(ticketRequestDto.getUserId())
                 .bookingId(bookingId)
                 .build();
 
-        ticketRepository.save(ticket);
+        // Grouped with concurrent bookings into one batched insert and commit
+        final TicketWriter.Outcome outcome;
+        try {
+            outcome = ticketInsertBatcher.insert(ticket);
+        } catch (RuntimeException e) {
+            seats.release(seatNumber);
+            throw e;
+        }
+        if (outcome == TicketWriter.Outcome.SEAT_TAKEN) {
+            // Booked behind this node's bitmap; catch the bitmap up with the table
+            seats.release(seatNumber);
+            refreshSeats(showtimeId);
+            throw seatAlreadyBooked(seatNumber);
+        }
+        if (outcome == TicketWriter.Outcome.SHOWTIME_NOT_ACTIVE) {
+            // Deleted after the lookup above, possibly by another instance
+            seatIndex.evict(showtimeId);
+            throw showtimeNotFound(showtimeId);
+        }
+        seats.settle(1);
 
         return TicketResponseDto.builder()
-                .bookingId(bookingId)
+                .bookingId(Long.toString(bookingId))
                 .build();
     }
 
-}
\ No newline at end of file
+    // Books every requested seat or none of them
+    public BatchTicketResponseDto bookTickets(BatchTicketRequestDto batchRequestDto) {
+        final Long showtimeId = batchRequestDto.getShowtimeId();
+        final List<Integer> seatNumbers = batchRequestDto.getSeatNumbers();
+
+        final SeatBitmap seats = claimSeats(showtimeId, seatNumbers);
+        return insertClaimedSeats(showtimeId, seatNumbers, batchRequestDto.getUserId(), seats);
+    }
+
+    // Claim every seat in the showtime's bitmap, or none of them; the returned bitmap is the
+    // one holding the claims, so the caller can give them back
+    public SeatBitmap claimSeats(Long showtimeId, List<Integer> seatNumbers) {
+
+        // Reject duplicated seat numbers, a seat can only be booked once
+        final Set<Integer> distinctSeats = new HashSet<>(seatNumbers);
+        if (distinctSeats.size() != seatNumbers.size()) {
+            throw new AppException(
+                    "Seat numbers must not repeat within one booking",
+                    HttpStatus.BAD_REQUEST,
+                    ErrorType.VALIDATION_ERROR
+            );
+        }
+
+        // Reject seats already known to be taken without a database round trip
+        final SeatBitmap knownSeats = seatIndex.find(showtimeId);
+        if (knownSeats != null) {
+            for (int seatNumber : seatNumbers) {
+                if (knownSeats.isTaken(seatNumber)) {
+                    throw seatAlreadyBooked(seatNumber);
+                }
+            }
+        }
+
+        requireShowtime(showtimeId, knownSeats);
+
+        // Claim every seat in memory, giving back the ones already claimed if any is lost
+        final SeatBitmap seats = seatIndex.getOrLoad(showtimeId,
+                () -> ticketRepository.findSeatNumbersByShowtimeId(showtimeId));
+        final List<Integer> claimed = new ArrayList<>(seatNumbers.size());
+        for (int seatNumber : seatNumbers) {
+            if (!seats.tryClaim(seatNumber)) {
+                claimed.forEach(seats::release);
+                throw seatAlreadyBooked(seatNumber);
+            }
+            claimed.add(seatNumber);
+        }
+        return seats;
+    }
+
+    // Insert tickets for seats already claimed through claimSeats, releasing the claims if the insert fails
+    public BatchTicketResponseDto insertClaimedSeats(Long showtimeId, List<Integer> seatNumbers, String userId,
+                                                     SeatBitmap seats) {
+        final List<Ticket> tickets = new ArrayList<>(seatNumbers.size());
+        final List<String> bookingIds = new ArrayList<>(seatNumbers.size());
+        for (int seatNumber : seatNumbers) {
+            final long bookingId = bookingIdGenerator.nextId();
+            tickets.add(Ticket.builder()
+                    .showtimeId(showtimeId)
+                    .seatNumber(seatNumber)
+                    .userId(userId)
+                    .bookingId(bookingId)
+                    .build());
+            bookingIds.add(Long.toString(bookingId));
+        }
+
+        // One JDBC batch in its own transaction, so the claimed bits and the rows agree either way
+        try {
+            ticketRepository.insertAll(tickets);
+        } catch (RuntimeException e) {
+            seatNumbers.forEach(seats::release);
+            throw translateInsertFailure(e, showtimeId, new AppException(
+                    "One or more of seats " + seatNumbers + " are already booked for this showtime",
+                    HttpStatus.CONFLICT,
+                    ErrorType.SEAT_ALREADY_BOOKED
+            ));
+        }
+        seats.settle(seatNumbers.size());
+        ticketsBooked.increment(tickets.size());
+
+        return BatchTicketResponseDto.builder()
+                .bookingIds(bookingIds)
+                .build();
+    }
+
+    // The (showtime_id, seat_number) unique constraint has the final say. Losing on it means the
+    // seat was booked behind this node's bitmap, so the bitmap catches up with the table. Any other
+    // violation, such as a booking id collision, is passed on as it is
+    private RuntimeException translateInsertFailure(RuntimeException e, Long showtimeId, AppException conflict) {
+        if (e instanceof ShowtimeNotActiveException) {
+            seatIndex.evict(showtimeId);
+            return showtimeNotFound(showtimeId);
+        }
+        if (e instanceof DataIntegrityViolationException && SqlStates.isUniqueViolation(e, Ticket.SEAT_CONSTRAINT)) {
+            refreshSeats(showtimeId);
+            return conflict;
+        }
+        return e;
+    }
+
+    private void refreshSeats(Long showtimeId) {
+        seatIndex.refresh(showtimeId, () -> ticketRepository.findSeatNumbersByShowtimeId(showtimeId));
+    }
+
+    // Only a showtime this node has no bitmap for costs a query
+    private void requireShowtime(Long showtimeId, SeatBitmap knownSeats) {
+        if (knownSeats == null && !showtimeRepository.existsById(showtimeId)) {
+            throw showtimeNotFound(showtimeId);
+        }
+    }
+
+    static AppException showtimeNotFound(Long showtimeId) {
+        return new AppException(
+                "Showtime not found with ID '" + showtimeId + "'",
+                HttpStatus.NOT_FOUND,
+                ErrorType.SHOWTIME_NOT_FOUND
+        );
+    }
+
+    static AppException seatAlreadyBooked(int seatNumber) {
+        return new AppException(
+                "Seat " + seatNumber + " is already booked for this showtime",
+                HttpStatus.CONFLICT,
+                ErrorType.SEAT_ALREADY_BOOKED
+        );
+    }
+
+}
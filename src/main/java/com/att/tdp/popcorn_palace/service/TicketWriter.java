@@ -0,0 +1,112 @@
+package com.att.tdp.popcorn_palace.service;
+
+import com.att.tdp.popcorn_palace.Exception.ShowtimeNotActiveException;
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Group commit for tickets decided independently of each other: the whole group goes in as one
+// JDBC batch in one transaction, and only if a seat in it was already taken does the writer fall
+// back to one insert per row, so the conflict fails that booking alone. Tickets for showtimes
+// deleted meanwhile are set aside and the rest of the group retried as one batch
+@Component
+@Profile("!reactive")
+public class TicketWriter {
+
+    static final String TICKETS_BOOKED_METRIC = "tickets.booked";
+
+    // What became of one ticket of a group
+    public enum Outcome {
+        INSERTED,
+        // The seat's unique constraint rejected it
+        SEAT_TAKEN,
+        // Its showtime was deleted, possibly by another instance
+        SHOWTIME_NOT_ACTIVE,
+        // Rejected for another reason while written on its own; the result carries the failure
+        FAILED
+    }
+
+    public record Result(Outcome outcome, RuntimeException failure) {
+
+        public static final Result INSERTED = new Result(Outcome.INSERTED, null);
+        public static final Result SEAT_TAKEN = new Result(Outcome.SEAT_TAKEN, null);
+        public static final Result SHOWTIME_NOT_ACTIVE = new Result(Outcome.SHOWTIME_NOT_ACTIVE, null);
+
+        public static Result failed(RuntimeException failure) {
+            return new Result(Outcome.FAILED, failure);
+        }
+    }
+
+    private final TicketRepository ticketRepository;
+    private final Counter ticketsBooked;
+
+    public TicketWriter(TicketRepository ticketRepository, MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.ticketsBooked = ticketsBooked(meterRegistry, "single");
+    }
+
+    // The result of each ticket. A failure other than a taken seat or a deleted showtime is thrown
+    // while the group is still written together, with none of it inserted; once the rows are
+    // written one by one it fails only its own ticket, since the rows before it are committed
+    public Result[] writeAll(List<Ticket> tickets) {
+        final Result[] results = new Result[tickets.size()];
+        List<Integer> pending = IntStream.range(0, tickets.size()).boxed().toList();
+        while (!pending.isEmpty()) {
+            try {
+                ticketRepository.insertAll(pending.stream().map(tickets::get).toList());
+                pending.forEach(i -> results[i] = Result.INSERTED);
+                ticketsBooked.increment(pending.size());
+                return results;
+            } catch (ShowtimeNotActiveException e) {
+                // Settle the deleted showtimes' tickets and retry the rest together
+                final List<Integer> rest = new ArrayList<>(pending.size());
+                for (int i : pending) {
+                    if (e.getShowtimeIds().contains(tickets.get(i).getShowtimeId())) {
+                        results[i] = Result.SHOWTIME_NOT_ACTIVE;
+                    } else {
+                        rest.add(i);
+                    }
+                }
+                pending = rest;
+            } catch (DataIntegrityViolationException e) {
+                if (!SqlStates.isUniqueViolation(e, Ticket.SEAT_CONSTRAINT)) {
+                    throw e;
+                }
+                for (int i : pending) {
+                    results[i] = pending.size() == 1 ? Result.SEAT_TAKEN : insertOne(tickets.get(i));
+                }
+                return results;
+            }
+        }
+        return results;
+    }
+
+    // Sold seats by booking kind; rate() of it is bookings per second
+    static Counter ticketsBooked(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder(TICKETS_BOOKED_METRIC)
+                .description("Tickets written to the database")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private Result insertOne(Ticket ticket) {
+        try {
+            ticketRepository.insertAll(List.of(ticket));
+            ticketsBooked.increment();
+            return Result.INSERTED;
+        } catch (ShowtimeNotActiveException e) {
+            return Result.SHOWTIME_NOT_ACTIVE;
+        } catch (RuntimeException e) {
+            return SqlStates.isUniqueViolation(e, Ticket.SEAT_CONSTRAINT) ? Result.SEAT_TAKEN : Result.failed(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.att.tdp.popcorn_palace.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: level 0 has one bucket per tick, and each further level has
+// buckets as wide as the whole level below it. Scheduling and cancelling are O(1), and a tick
+// only touches the buckets that fall due, so the cost does not grow with the number of timers.
+// Timers fire on the first tick at or after their deadline, never early.
+// Not thread-safe on its own; the owner serializes access.
+public class TimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadline;
+        private volatile boolean cancelled;
+
+        private Timeout(T task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        // Lazy cancellation: the entry stays in its bucket and is dropped when the bucket is drained
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<ArrayDeque<Timeout<T>>[]> levels = new ArrayList<>();
+    private final List<Timeout<T>> due = new ArrayList<>();
+    private long currentTime;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel needs at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        addLevel();
+    }
+
+    public Timeout<T> schedule(T task, long deadline) {
+        final Timeout<T> timeout = new Timeout<>(task, deadline);
+        place(timeout);
+        return timeout;
+    }
+
+    // Move the clock forward tick by tick and return the tasks of the timers that fell due
+    public List<T> advance(long now) {
+        final List<T> expired = new ArrayList<>();
+        collectDue(expired);
+        while (currentTime + tickMillis <= now) {
+            currentTime += tickMillis;
+
+            // Cascade from the top so timers moving down can still fire on this tick
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                final long levelTick = levelTick(level);
+                if (currentTime % levelTick == 0) {
+                    final ArrayDeque<Timeout<T>> bucket = levels.get(level)[bucketIndex(currentTime, levelTick)];
+                    Timeout<T> timeout;
+                    while ((timeout = bucket.poll()) != null) {
+                        if (!timeout.isCancelled()) {
+                            place(timeout);
+                        }
+                    }
+                }
+            }
+            collectDue(expired);
+        }
+        return expired;
+    }
+
+    private void place(Timeout<T> timeout) {
+        // Rounded up to a tick boundary so the timer lands in a bucket that drains at or after its deadline
+        final long expiry = ceilToTick(timeout.getDeadline());
+        if (expiry <= currentTime) {
+            due.add(timeout);
+            return;
+        }
+        int level = 0;
+        while (true) {
+            if (level == levels.size()) {
+                addLevel();
+            }
+            final long levelTick = levelTick(level);
+            final long levelStart = currentTime - Math.floorMod(currentTime, levelTick);
+            if (expiry < levelStart + levelTick * wheelSize) {
+                levels.get(level)[bucketIndex(expiry, levelTick)].add(timeout);
+                return;
+            }
+            level++;
+        }
+    }
+
+    private void collectDue(List<T> expired) {
+        for (Timeout<T> timeout : due) {
+            if (!timeout.isCancelled()) {
+                expired.add(timeout.getTask());
+            }
+        }
+        due.clear();
+    }
+
+    private long levelTick(int level) {
+        long levelTick = tickMillis;
+        for (int i = 0; i < level; i++) {
+            levelTick *= wheelSize;
+        }
+        return levelTick;
+    }
+
+    private int bucketIndex(long time, long levelTick) {
+        return (int) Math.floorMod(Math.floorDiv(time, levelTick), (long) wheelSize);
+    }
+
+    private long ceilToTick(long time) {
+        return Math.floorDiv(time + tickMillis - 1, tickMillis) * tickMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        final ArrayDeque<Timeout<T>>[] buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        levels.add(buckets);
+    }
+}
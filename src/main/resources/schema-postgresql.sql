@@ -0,0 +1,167 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization)
+
+-- Lets the exclusion constraint combine plain equality on theater with range overlap
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Closed range, so showtimes that merely touch still conflict, matching ShowtimeOverlapIndex
+ALTER TABLE showtimes ADD COLUMN IF NOT EXISTS time_range tsrange
+    GENERATED ALWAYS AS (tsrange(start_time, end_time, '[]')) STORED;
+
+-- Soft-deleted showtimes no longer hold their slot while they wait to be purged. Created only
+-- when missing: adding it builds the GiST index under an ACCESS EXCLUSIVE lock on showtimes,
+-- which no node should take on every boot. A change to the definition is a migration step of
+-- its own below, which replaces the constraint once.
+DO $$
+DECLARE
+    definition text;
+BEGIN
+    SELECT pg_get_constraintdef(oid) INTO definition FROM pg_constraint
+        WHERE conrelid = 'showtimes'::regclass AND conname = 'showtimes_no_overlap';
+
+    -- Migration: before soft deletes the constraint covered every row, deleted or not
+    IF definition IS NOT NULL AND definition NOT LIKE '%deleted_at IS NULL%' THEN
+        ALTER TABLE showtimes DROP CONSTRAINT showtimes_no_overlap;
+        definition := NULL;
+    END IF;
+
+    IF definition IS NULL THEN
+        ALTER TABLE showtimes ADD CONSTRAINT showtimes_no_overlap
+            EXCLUDE USING gist (theater WITH =, time_range WITH &&) WHERE (deleted_at IS NULL);
+    END IF;
+END
+$$;
+
+-- Deleting a movie clears its title_key; Hibernate's update mode never relaxes NOT NULL itself
+ALTER TABLE movies ALTER COLUMN title_key DROP NOT NULL;
+
+-- Hibernate's update mode adds title_key empty, and Movie only fills it on insert or update, so
+-- movies written before it get their key here. Without it the unique index and existsByTitleKey
+-- would let duplicates of those titles through. Titles that already collide case-insensitively
+-- fail this statement, and the boot, instead of staying silently duplicated
+UPDATE movies SET title_key = lower(title) WHERE title_key IS NULL AND deleted_at IS NULL;
+
+-- The title_key unique constraint used to get a generated name. MovieService recognises a
+-- duplicate title by the constraint name, so older databases drop the unnamed copy that
+-- Hibernate's update mode leaves next to uk_movies_title_key
+DO $$
+DECLARE
+    legacy record;
+BEGIN
+    FOR legacy IN
+        SELECT c.conname FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.conrelid = 'movies'::regclass AND c.contype = 'u'
+          AND cardinality(c.conkey) = 1 AND a.attname = 'title_key'
+          AND c.conname <> 'uk_movies_title_key'
+    LOOP
+        EXECUTE format('ALTER TABLE movies DROP CONSTRAINT %I', legacy.conname);
+    END LOOP;
+END
+$$;
+
+-- Likewise the tickets (showtime_id, seat_number) constraint, which TicketWriter and
+-- TicketService recognise by its name uk_tickets_showtime_seat to tell a taken seat apart
+DO $$
+DECLARE
+    legacy record;
+BEGIN
+    FOR legacy IN
+        SELECT c.conname FROM pg_constraint c
+        WHERE c.conrelid = 'tickets'::regclass AND c.contype = 'u'
+          AND cardinality(c.conkey) = 2
+          AND c.conkey @> ARRAY[
+              (SELECT attnum FROM pg_attribute WHERE attrelid = 'tickets'::regclass AND attname = 'showtime_id'),
+              (SELECT attnum FROM pg_attribute WHERE attrelid = 'tickets'::regclass AND attname = 'seat_number')]
+          AND c.conname <> 'uk_tickets_showtime_seat'
+    LOOP
+        EXECUTE format('ALTER TABLE tickets DROP CONSTRAINT %I', legacy.conname);
+    END LOOP;
+END
+$$;
+
+-- Tickets are only written for showtimes that are not deleted. The check runs inside each ticket
+-- INSERT, so a JDBC batch pays no extra round trip for it, and its share lock on the showtime
+-- holds until the insert commits: a soft delete from any instance either waits for the tickets or
+-- has already hidden the showtime here. TicketRepositoryImpl recognises the SQL state and message
+CREATE OR REPLACE FUNCTION tickets_require_active_showtime() RETURNS trigger AS $$
+BEGIN
+    PERFORM 1 FROM showtimes WHERE id = NEW.showtime_id AND deleted_at IS NULL FOR SHARE;
+    IF NOT FOUND THEN
+        RAISE EXCEPTION 'showtime_not_active:%', NEW.showtime_id USING ERRCODE = 'PP001';
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+-- Created only when missing, like showtimes_no_overlap, so no boot takes a lock on tickets
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger
+                   WHERE tgrelid = 'tickets'::regclass AND tgname = 'tickets_require_active_showtime') THEN
+        CREATE TRIGGER tickets_require_active_showtime BEFORE INSERT ON tickets
+            FOR EACH ROW EXECUTE FUNCTION tickets_require_active_showtime();
+    END IF;
+END
+$$;
+
+-- Likewise showtimes are only written for movies that are not deleted. The share lock on the movie
+-- holds until the showtime commits, so MovieService.deleteMovieByTitle, which marks the movie before
+-- its showtimes, either waits for the new showtime and then marks it too, or has already hidden the
+-- movie here. Marking a showtime deleted is never refused. ShowtimeService recognises the SQL state
+CREATE OR REPLACE FUNCTION showtimes_require_active_movie() RETURNS trigger AS $$
+BEGIN
+    IF NEW.deleted_at IS NULL THEN
+        PERFORM 1 FROM movies WHERE id = NEW.movie_id AND deleted_at IS NULL FOR SHARE;
+        IF NOT FOUND THEN
+            RAISE EXCEPTION 'movie_not_active:%', NEW.movie_id USING ERRCODE = 'PP002';
+        END IF;
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger
+                   WHERE tgrelid = 'showtimes'::regclass AND tgname = 'showtimes_require_active_movie') THEN
+        CREATE TRIGGER showtimes_require_active_movie BEFORE INSERT OR UPDATE OF movie_id, deleted_at ON showtimes
+            FOR EACH ROW EXECUTE FUNCTION showtimes_require_active_movie();
+    END IF;
+END
+$$;
+
+-- Keep SoftDeletePurger's batch lookups and the per-movie soft delete off full table scans
+CREATE INDEX IF NOT EXISTS idx_showtimes_deleted ON showtimes (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_movies_deleted ON movies (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_showtimes_movie_id ON showtimes (movie_id);
+
+-- Booking ids used to be random UUID strings. Hibernate's update mode never changes a column
+-- type, so older databases are converted here, mapping each old id to a stable 64-bit hash
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'tickets' AND column_name = 'booking_id'
+                 AND data_type = 'character varying') THEN
+        ALTER TABLE tickets ALTER COLUMN booking_id TYPE bigint
+            USING ('x' || substr(md5(booking_id), 1, 16))::bit(64)::bigint;
+    END IF;
+END
+$$;
+
+-- Row versions behind the showtime ETags (@Version). Hibernate's update mode adds the columns
+-- empty, so rows written before them start at version 0
+UPDATE movies SET version = 0 WHERE version IS NULL;
+UPDATE showtimes SET version = 0 WHERE version IS NULL;
+
+-- The catalog ETag counter every instance reads; MovieService bumps it in each movie write
+INSERT INTO catalog_versions (name, version)
+    SELECT 'movies', 0 WHERE NOT EXISTS (SELECT 1 FROM catalog_versions WHERE name = 'movies');
+
+-- Ids moved from IDENTITY columns to pooled sequences; on a database that already has rows,
+-- move each sequence past the highest existing id so new ids cannot collide with old ones
+SELECT setval('movies_seq', (SELECT MAX(id) FROM movies) + 50)
+    WHERE (SELECT last_value FROM movies_seq) <= (SELECT COALESCE(MAX(id), 0) FROM movies);
+SELECT setval('showtimes_seq', (SELECT MAX(id) FROM showtimes) + 50)
+    WHERE (SELECT last_value FROM showtimes_seq) <= (SELECT COALESCE(MAX(id), 0) FROM showtimes);
+SELECT setval('tickets_seq', (SELECT MAX(id) FROM tickets) + 50)
+    WHERE (SELECT last_value FROM tickets_seq) <= (SELECT COALESCE(MAX(id), 0) FROM tickets);
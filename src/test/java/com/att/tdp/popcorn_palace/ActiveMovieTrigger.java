@@ -0,0 +1,56 @@
+package com.att.tdp.popcorn_palace;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// H2 stand-in for the PostgreSQL showtimes_require_active_movie trigger, raising the same SQL state
+// and message. It checks the movie without the share lock PostgreSQL takes
+public class ActiveMovieTrigger implements Trigger {
+
+    private static final String MOVIE_NOT_ACTIVE = "PP002";
+
+    private int movieIdColumn;
+    private int deletedAtColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        final List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION")) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1).toLowerCase());
+                }
+            }
+        }
+        movieIdColumn = columns.indexOf("movie_id");
+        deletedAtColumn = columns.indexOf("deleted_at");
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        // Marking a showtime deleted is never refused
+        if (newRow[deletedAtColumn] != null) {
+            return;
+        }
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT 1 FROM movies WHERE id = ? AND deleted_at IS NULL")) {
+            statement.setObject(1, newRow[movieIdColumn]);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("movie_not_active:" + newRow[movieIdColumn], MOVIE_NOT_ACTIVE);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.att.tdp.popcorn_palace;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// H2 stand-in for the PostgreSQL tickets_require_active_showtime trigger, raising the same SQL state
+// and message. It checks the showtime without the share lock PostgreSQL takes
+public class ActiveShowtimeTrigger implements Trigger {
+
+    private static final String SHOWTIME_NOT_ACTIVE = "PP001";
+
+    private int showtimeIdColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        final List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION")) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1).toLowerCase());
+                }
+            }
+        }
+        showtimeIdColumn = columns.indexOf("showtime_id");
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT 1 FROM showtimes WHERE id = ? AND deleted_at IS NULL")) {
+            statement.setObject(1, newRow[showtimeIdColumn]);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("showtime_not_active:" + newRow[showtimeIdColumn], SHOWTIME_NOT_ACTIVE);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.att.tdp.popcorn_palace.service.SoftDeletePurger;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Deleting a movie or showtime must cost the same number of statements however many rows hang off it
+@SpringBootTest
+class CascadeDeleteQueryCountTests {
+
+    private static final String TITLE = "Bulk Delete Movie";
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Autowired
+    private BookingIdGenerator bookingIdGenerator;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        purger.purge();
+        overlapIndex.rebuild(List.of());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 12})
+    void deleteMovieByTitle_ShouldIssueFiveStatementsRegardlessOfSize(int size) {
+        final List<Showtime> showtimes = seed(size, size);
+        statistics.clear();
+
+        movieService.deleteMovieByTitle(TITLE);
+
+        // Lookup, showtime ids for index eviction, marking the showtimes and the movie deleted, then
+        // bumping the catalog version
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(movieRepository.existsByTitle(TITLE)).isFalse();
+        assertThat(showtimeRepository.count()).isZero();
+        assertThat(overlapIndex.findOverlap(null, "Hall 1",
+                showtimes.get(0).getStartTime(), showtimes.get(0).getEndTime())).isEmpty();
+
+        // The tickets stay until the purger gets to them
+        assertThat(ticketRepository.count()).isEqualTo((long) size * size);
+        purger.purge();
+        assertThat(ticketRepository.count()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 40})
+    void deleteShowtime_ShouldIssueOneStatementRegardlessOfTickets(int tickets) {
+        final List<Showtime> showtimes = seed(2, tickets);
+        statistics.clear();
+
+        showtimeService.deleteShowtime(showtimes.get(0).getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(showtimeRepository.existsById(showtimes.get(0).getId())).isFalse();
+
+        purger.purge();
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtimes.get(0).getId())).isEmpty();
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtimes.get(1).getId())).hasSize(tickets);
+    }
+
+    private List<Showtime> seed(int showtimeCount, int ticketsPerShowtime) {
+        final Movie movie = movieRepository.save(Movie.builder()
+                .title(TITLE)
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2019)
+                .build());
+
+        final List<Showtime> showtimes = new ArrayList<>();
+        final List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < showtimeCount; i++) {
+            final LocalDateTime start = LocalDateTime.of(2030, 3, 1, 10, 0).plusDays(i);
+            final Showtime showtime = showtimeRepository.save(Showtime.builder()
+                    .movieId(movie.getId())
+                    .theater("Hall " + (i + 1))
+                    .startTime(start)
+                    .endTime(start.plusHours(2))
+                    .price(30.0f)
+                    .build());
+            showtimes.add(showtime);
+            for (int seat = 1; seat <= ticketsPerShowtime; seat++) {
+                tickets.add(Ticket.builder()
+                        .showtimeId(showtime.getId())
+                        .seatNumber(seat)
+                        .userId("user123")
+                        .bookingId(bookingIdGenerator.nextId())
+                        .build());
+            }
+        }
+        ticketRepository.saveAll(tickets);
+        overlapIndex.rebuild(showtimeRepository.findAllSlots());
+        return showtimes;
+    }
+}
@@ -0,0 +1,175 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
+import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
+import com.att.tdp.popcorn_palace.service.CatalogVersionTracker;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETags come from persisted versions, so they follow writes made through any instance and only
+// change for the resources a write touches
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Autowired
+    private CatalogVersionTracker versionTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long duneShowtime;
+    private Long arrivalShowtime;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("DELETE FROM tickets");
+        jdbcTemplate.update("DELETE FROM showtimes");
+        jdbcTemplate.update("DELETE FROM movies");
+        overlapIndex.rebuild(List.of());
+
+        final Long dune = movieService.addMovie(movie("Dune")).getId();
+        final Long arrival = movieService.addMovie(movie("Arrival")).getId();
+        duneShowtime = showtimeService.addShowtime(showtime(dune, 18)).getId();
+        arrivalShowtime = showtimeService.addShowtime(showtime(arrival, 21)).getId();
+    }
+
+    @Test
+    void getAllMovies_WhenAnotherInstanceWritesAMovie_ShouldIssueANewETag() throws Exception {
+        final String eTag = eTagOf("/movies/all");
+
+        // What a movie write on another instance leaves behind in the shared database
+        jdbcTemplate.update("UPDATE catalog_versions SET version = version + 1 WHERE name = 'movies'");
+
+        mockMvc.perform(get("/movies/all").header("If-None-Match", eTag)).andExpect(status().isOk());
+        assertThat(eTagOf("/movies/all")).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void markMoviesChanged_ShouldBumpTheVersionOnlyOnceTheWriteCommits() {
+        final long before = versionTracker.movieCatalogVersion();
+
+        // Nothing is written, so nothing is locked, while the movie write is still open
+        transactionTemplate.executeWithoutResult(status -> {
+            versionTracker.markMoviesChanged();
+            assertThat(catalogVersion()).isEqualTo(before);
+        });
+        assertThat(versionTracker.movieCatalogVersion()).isEqualTo(before + 1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            versionTracker.markMoviesChanged();
+            status.setRollbackOnly();
+        });
+        assertThat(versionTracker.movieCatalogVersion()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void getAllMovies_WhenAnotherInstanceWritesAMovie_ShouldNotServeTheCachedListUnderTheNewETag() throws Exception {
+        final String eTag = eTagOf("/movies/all");
+
+        // This node has the list cached and never hears of the write
+        jdbcTemplate.update("UPDATE movies SET genre = 'Drama' WHERE title = 'Dune'");
+        jdbcTemplate.update("UPDATE catalog_versions SET version = version + 1 WHERE name = 'movies'");
+
+        mockMvc.perform(get("/movies/all").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$[?(@.title == 'Dune')].genre").value(contains("Drama")));
+    }
+
+    @Test
+    void getShowtimeById_WhenItsMovieChanges_ShouldIssueANewETagForThatShowtimeOnly() throws Exception {
+        final String duneTag = eTagOf("/showtimes/" + duneShowtime);
+        final String arrivalTag = eTagOf("/showtimes/" + arrivalShowtime);
+
+        movieService.updateMovieByTitle("Dune", MovieUpdateRequestDto.builder().title("Dune: Part One").build());
+
+        assertThat(eTagOf("/showtimes/" + duneShowtime)).isNotEqualTo(duneTag);
+        mockMvc.perform(get("/showtimes/" + arrivalShowtime).header("If-None-Match", arrivalTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getShowtimeById_WhenAnotherShowtimeChanges_ShouldKeepItsETag() throws Exception {
+        final String duneTag = eTagOf("/showtimes/" + duneShowtime);
+        final String arrivalTag = eTagOf("/showtimes/" + arrivalShowtime);
+
+        final ShowtimeRequestDto moved = showtime(movieIdOf(arrivalShowtime), 12);
+        showtimeService.updateShowtime(arrivalShowtime, moved);
+
+        assertThat(eTagOf("/showtimes/" + arrivalShowtime)).isNotEqualTo(arrivalTag);
+        mockMvc.perform(get("/showtimes/" + duneShowtime).header("If-None-Match", duneTag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String eTagOf(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private Long movieIdOf(Long showtimeId) {
+        return jdbcTemplate.queryForObject("SELECT movie_id FROM showtimes WHERE id = ?", Long.class, showtimeId);
+    }
+
+    private long catalogVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM catalog_versions WHERE name = 'movies'", Long.class);
+    }
+
+    private static MovieRequestDto movie(String title) {
+        return MovieRequestDto.builder()
+                .title(title)
+                .genre("Sci-Fi")
+                .duration(120)
+                .rating(8.0)
+                .releaseYear(2021)
+                .build();
+    }
+
+    private static ShowtimeRequestDto showtime(Long movieId, int hour) {
+        final LocalDateTime start = LocalDateTime.of(2033, 3, 1, hour, 0);
+        return ShowtimeRequestDto.builder()
+                .movieId(movieId)
+                .theater("ETag Hall")
+                .startTime(start)
+                .endTime(start.plusHours(2).plusMinutes(30))
+                .price(30.0f)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.att.tdp.popcorn_palace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tests replace the configured registries with a simple one unless observability is asked for
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void errors_ShouldBeCountedByErrorType() throws Exception {
+        final double before = meterRegistry.get("api.errors").tag("errorType", "SHOWTIME_NOT_FOUND").counter().count();
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"showtimeId\": 999999, \"seatNumber\": 1, \"userId\": \"user123\"}"))
+                .andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get("api.errors").tag("errorType", "SHOWTIME_NOT_FOUND").counter().count())
+                .isEqualTo(before + 1);
+        assertThat(meterRegistry.get("service.calls").tag("class", "com.att.tdp.popcorn_palace.service.TicketService")
+                .tag("method", "bookTicket").tag("exception", "AppException").timer().count()).isPositive();
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeRequestServicePoolAndHibernateMetrics() throws Exception {
+        mockMvc.perform(get("/movies/all")).andExpect(status().isOk());
+
+        final String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape).contains(
+                "http_server_requests_seconds_bucket{",
+                "uri=\"/movies/all\"",
+                "service_calls_seconds_count{",
+                "api_errors_total{",
+                "tickets_booked_total{",
+                "hikaricp_connections_active{",
+                "hibernate_statements_total{");
+    }
+}
@@ -0,0 +1,168 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.service.MovieCache;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class MovieCacheTests {
+
+    @SpyBean
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        clearInvocations(movieRepository);
+    }
+
+    @Test
+    void getAllMovies_ShouldBeServedFromCacheUntilAMovieIsAdded() {
+        movieService.getAllMovies();
+        movieService.getAllMovies();
+        verify(movieRepository, times(1)).findAll();
+
+        movieService.addMovie(createMovieRequest("Dune"));
+
+        List<MovieResponseDto> movies = movieService.getAllMovies();
+        assertThat(movies).extracting(MovieResponseDto::getTitle).containsExactly("Dune");
+        verify(movieRepository, times(2)).findAll();
+    }
+
+    @Test
+    void getMovieByTitle_AfterRename_ShouldNotReturnStaleEntry() {
+        movieService.addMovie(createMovieRequest("Dune"));
+        MovieResponseDto cached = movieService.getMovieByTitle("Dune");
+        assertThat(movieService.getMovieById(cached.getId()).getTitle()).isEqualTo("Dune");
+
+        movieService.updateMovieByTitle("Dune", MovieUpdateRequestDto.builder().title("Dune: Part One").build());
+
+        assertThat(movieService.getMovieById(cached.getId()).getTitle()).isEqualTo("Dune: Part One");
+        assertThatThrownBy(() -> movieService.getMovieByTitle("Dune"))
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void getMovieById_WhenAnUpdateCommitsDuringTheRead_ShouldNotServeTheStaleEntry() throws Exception {
+        final Long id = movieService.addMovie(createMovieRequest("Dune")).getId();
+        final CountDownLatch read = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        doAnswer(pausedAfterTheRead(read, proceed)).when(movieRepository).findById(id);
+
+        // The reader loads the old row, then the update commits and evicts before the reader's put
+        final CompletableFuture<MovieResponseDto> reader =
+                CompletableFuture.supplyAsync(() -> movieService.getMovieById(id));
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+        movieService.updateMovieByTitle("Dune", MovieUpdateRequestDto.builder().genre("Drama").build());
+        proceed.countDown();
+        assertThat(reader.get(5, TimeUnit.SECONDS).getGenre()).isEqualTo("Sci-Fi");
+
+        assertThat(movieService.getMovieById(id).getGenre()).isEqualTo("Drama");
+    }
+
+    @Test
+    void getMovieByTitle_WhenARenameCommitsDuringTheRead_ShouldNotServeTheStaleEntry() throws Exception {
+        movieService.addMovie(createMovieRequest("Dune"));
+        final CountDownLatch read = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        doAnswer(pausedAfterTheRead(read, proceed)).doAnswer(realRepository()).when(movieRepository).findByTitle("Dune");
+
+        final CompletableFuture<MovieResponseDto> reader =
+                CompletableFuture.supplyAsync(() -> movieService.getMovieByTitle("Dune"));
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+        movieService.updateMovieByTitle("Dune", MovieUpdateRequestDto.builder().title("Dune: Part One").build());
+        proceed.countDown();
+        assertThat(reader.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("Dune");
+
+        assertThatThrownBy(() -> movieService.getMovieByTitle("Dune"))
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void get_WhenAnEvictionLandsBetweenTheStampCheckAndThePut_ShouldNotKeepTheValue() {
+        final Cache cache = spy(new ConcurrentMapCache("movies"));
+        final CacheManager manager = mock(CacheManager.class);
+        when(manager.getCache("movies")).thenReturn(cache);
+        final MovieCache movieCache = new MovieCache(manager);
+        doAnswer(invocation -> {
+            movieCache.evictAfterCommit("movies", "Dune");
+            return invocation.callRealMethod();
+        }).when(cache).put("Dune", "old");
+
+        assertThat(movieCache.get("movies", "Dune", () -> "old")).isEqualTo("old");
+
+        assertThat(cache.get("Dune")).isNull();
+    }
+
+    @Test
+    void updateMovie_ShouldLeaveOtherMoviesCached() {
+        final Long duneId = movieService.addMovie(createMovieRequest("Dune")).getId();
+        final Long arrivalId = movieService.addMovie(createMovieRequest("Arrival")).getId();
+        movieService.getMovieById(arrivalId);
+        movieService.getMovieByTitle("Arrival");
+        movieService.getMovieById(duneId);
+        clearInvocations(movieRepository);
+
+        movieService.updateMovieByTitle("Dune", MovieUpdateRequestDto.builder().genre("Drama").build());
+        movieService.getMovieById(arrivalId);
+        movieService.getMovieByTitle("Arrival");
+        assertThat(movieService.getMovieById(duneId).getGenre()).isEqualTo("Drama");
+
+        verify(movieRepository, never()).findById(arrivalId);
+        verify(movieRepository, times(1)).findByTitle("Dune");
+        verify(movieRepository, never()).findByTitle("Arrival");
+        verify(movieRepository, times(1)).findById(duneId);
+    }
+
+    // Runs the real query, then holds the caller inside its read-only transaction until released
+    private Answer<Object> pausedAfterTheRead(CountDownLatch read, CountDownLatch proceed) {
+        return invocation -> {
+            final Object result = realRepository().answer(invocation);
+            read.countDown();
+            proceed.await();
+            return result;
+        };
+    }
+
+    // The repository is a JDK proxy, so the spy delegates to it instead of calling a real method
+    private Answer<?> realRepository() {
+        return mockingDetails(movieRepository).getMockCreationSettings().getDefaultAnswer();
+    }
+
+    private MovieRequestDto createMovieRequest(String title) {
+        return MovieRequestDto.builder()
+                .title(title)
+                .genre("Sci-Fi")
+                .duration(155)
+                .rating(8.0)
+                .releaseYear(2021)
+                .build();
+    }
+}
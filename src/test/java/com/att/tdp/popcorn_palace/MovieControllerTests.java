@@ -2,9 +2,14 @@ package com.att.tdp.popcorn_palace;
 
 import com.att.tdp.popcorn_palace.Exception.AppException;
 import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.MovieImportReportDto;
+import com.att.tdp.popcorn_palace.dto.MoviePageDto;
 import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
 import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.service.CatalogVersionTracker;
+import com.att.tdp.popcorn_palace.service.MovieImportService;
 import com.att.tdp.popcorn_palace.service.MovieService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -14,15 +19,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,12 +44,18 @@ class MovieControllerTest {
     @MockBean
     private MovieService movieService;
 
+    @MockBean
+    private MovieImportService movieImportService;
+
     @Autowired
     private MockMvc mockMvc;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersionTracker versionTracker;
+
     // ----- getAllMovies Tests -----
 
     @Test
@@ -49,7 +64,7 @@ class MovieControllerTest {
         MovieResponseDto movie2 = createMovieResponse(2L, "Movie 2", "Comedy", 110, 7.5, 2021);
         List<MovieResponseDto> movies = Arrays.asList(movie1, movie2);
 
-        when(movieService.getAllMovies()).thenReturn(movies);
+        when(movieService.getAllMovies(anyLong())).thenReturn(movies);
 
         mockMvc.perform(get("/movies/all"))
                 .andDo(MockMvcResultHandlers.print())
@@ -60,19 +75,87 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].title").value("Movie 2"));
 
-        verify(movieService).getAllMovies();
+        verify(movieService).getAllMovies(anyLong());
     }
 
     @Test
     void getAllMovies_WhenNoMovies_ShouldReturnEmptyArray() throws Exception {
-        when(movieService.getAllMovies()).thenReturn(Collections.emptyList());
+        when(movieService.getAllMovies(anyLong())).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/movies/all"))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(movieService).getAllMovies();
+        verify(movieService).getAllMovies(anyLong());
+    }
+
+    @Test
+    void getAllMovies_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutLoading() throws Exception {
+        when(movieService.getAllMovies(anyLong())).thenReturn(Collections.emptyList());
+
+        String eTag = mockMvc.perform(get("/movies/all"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/movies/all").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(movieService, times(1)).getAllMovies(anyLong());
+    }
+
+    @Test
+    void getAllMovies_AfterCatalogChange_ShouldIssueNewETag() throws Exception {
+        when(movieService.getAllMovies(anyLong())).thenReturn(Collections.emptyList());
+
+        String eTag = mockMvc.perform(get("/movies/all"))
+                .andReturn().getResponse().getHeader("ETag");
+        versionTracker.markMoviesChanged();
+
+        mockMvc.perform(get("/movies/all").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)));
+    }
+
+    // ----- paged and streamed catalog Tests -----
+
+    @Test
+    void getMoviesPage_ShouldPassCursorAndLimitToService() throws Exception {
+        MoviePageDto page = MoviePageDto.builder()
+                .movies(List.of(createMovieResponse(5L, "Movie 5", "Drama", 100, 7.0, 2019)))
+                .nextCursor("5")
+                .build();
+
+        when(movieService.getMoviesPage("id", "4", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/movies/page").param("after", "4").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movies", hasSize(1)))
+                .andExpect(jsonPath("$.movies[0].id").value(5))
+                .andExpect(jsonPath("$.nextCursor").value("5"));
+
+        verify(movieService).getMoviesPage("id", "4", 1);
+    }
+
+    @Test
+    void streamAllMovies_ShouldWriteJsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<MovieResponseDto> action = invocation.getArgument(0);
+            action.accept(createMovieResponse(1L, "Movie 1", "Action", 120, 8.5, 2020));
+            action.accept(createMovieResponse(2L, "Movie 2", "Comedy", 110, 7.5, 2021));
+            return null;
+        }).when(movieService).forEachMovie(any());
+
+        MvcResult result = mockMvc.perform(get("/movies/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].title").value("Movie 2"));
     }
 
     // ----- addMovie Tests -----
@@ -253,6 +336,20 @@ class MovieControllerTest {
         verify(movieService).updateMovieByTitle(eq(title), any(MovieUpdateRequestDto.class));
     }
 
+    @Test
+    void updateMovie_WhenAConcurrentUpdateWins_ShouldReturnConflict() throws Exception {
+        MovieUpdateRequestDto requestDto = MovieUpdateRequestDto.builder().genre("Drama").build();
+
+        when(movieService.updateMovieByTitle(eq("Raced Movie"), any(MovieUpdateRequestDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Movie.class, 1L));
+
+        mockMvc.perform(post("/movies/update/{title}", "Raced Movie")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorType").value("CONCURRENT_UPDATE"));
+    }
+
 
     // ----- deleteMovie Tests -----
 
@@ -287,6 +384,22 @@ class MovieControllerTest {
 
     // ----- Helper methods -----
 
+    // ----- importMovies Tests -----
+
+    @Test
+    void importMovies_WithCsvBody_ShouldPassTheStreamAsCsv() throws Exception {
+        when(movieImportService.importMovies(any(), eq(MovieImportService.Format.CSV))).thenReturn(
+                MovieImportReportDto.builder().totalRows(1).imported(1).errors(List.of()).build());
+
+        mockMvc.perform(post("/movies/import")
+                        .contentType("text/csv")
+                        .content("title,genre,duration,rating,releaseYear\nHeat,Crime,170,8.3,1995\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        verify(movieImportService).importMovies(any(), eq(MovieImportService.Format.CSV));
+    }
+
     private MovieResponseDto createMovieResponse(Long id, String title, String genre, Integer duration, Double rating, Integer releaseYear) {
         return MovieResponseDto.builder()
                 .id(id)
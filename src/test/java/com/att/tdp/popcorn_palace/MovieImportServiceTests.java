@@ -0,0 +1,165 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.MovieImportErrorDto;
+import com.att.tdp.popcorn_palace.dto.MovieImportReportDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.MovieImportRunner;
+import com.att.tdp.popcorn_palace.service.MovieImportService;
+import com.att.tdp.popcorn_palace.service.MovieImportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class MovieImportServiceTests {
+
+    @Autowired
+    private MovieImportService movieImportService;
+
+    @Autowired
+    private MovieImportRunner movieImportRunner;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        movieRepository.save(Movie.builder()
+                .title("Already There")
+                .genre("Drama")
+                .duration(100)
+                .releaseYear(2001)
+                .build());
+    }
+
+    @Test
+    void importMovies_FromJson_ShouldImportValidRowsAndReportTheRest() throws Exception {
+        String json = """
+                [
+                  {"title": "Alien", "genre": "Horror", "duration": 117, "rating": 8.5, "releaseYear": 1979},
+                  {"title": "No Genre", "duration": 90, "releaseYear": 2000},
+                  {"title": "ALIEN", "genre": "Horror", "duration": 117, "releaseYear": 1979},
+                  {"title": "already there", "genre": "Drama", "duration": 100, "releaseYear": 2001},
+                  {"title": "Bad Duration", "genre": "Drama", "duration": "long", "releaseYear": 2001},
+                  {"title": "Heat", "genre": "Crime", "duration": 170, "releaseYear": 1995}
+                ]
+                """;
+
+        MovieImportReportDto report = movieImportService.importMovies(stream(json), Format.JSON);
+
+        assertThat(report.getTotalRows()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(MovieImportErrorDto::getRow).containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+        assertThat(report.getErrors()).filteredOn(error -> error.getRow() == 2)
+                .extracting(MovieImportErrorDto::getError).containsExactly("Genre is required");
+        assertThat(report.getErrors()).filteredOn(error -> error.getRow() == 3)
+                .extracting(MovieImportErrorDto::getError).containsExactly("Duplicate title within the import");
+        assertThat(report.getErrors()).filteredOn(error -> error.getRow() == 4)
+                .extracting(MovieImportErrorDto::getError).containsExactly("Movie with title 'already there' already exists");
+        assertThat(movieRepository.existsByTitleKey("alien")).isTrue();
+        assertThat(movieRepository.existsByTitleKey("heat")).isTrue();
+        assertThat(movieRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void importMovies_FromCsv_ShouldHandleQuotedFieldsAndSpanSeveralBatches() throws Exception {
+        String rows = IntStream.rangeClosed(1, 1_200)
+                .mapToObj(i -> "\"Movie, Part " + i + "\",Drama,90,7.5," + (1900 + i % 100))
+                .collect(Collectors.joining("\n"));
+        String csv = "title,genre,duration,rating,releaseYear\n" + rows + "\n\"Broken\",Drama,-5,,2000\n";
+
+        MovieImportReportDto report = movieImportService.importMovies(stream(csv), Format.CSV);
+
+        assertThat(report.getTotalRows()).isEqualTo(1_201);
+        assertThat(report.getImported()).isEqualTo(1_200);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(1_201);
+            assertThat(error.getError()).isEqualTo("Duration cannot be negative");
+        });
+        assertThat(movieRepository.existsByTitleKey("movie, part 1200")).isTrue();
+    }
+
+    @Test
+    void importMovies_WithMalformedJson_ShouldKeepEarlierRowsAndStop() throws Exception {
+        String json = """
+                [
+                  {"title": "Alien", "genre": "Horror", "duration": 117, "releaseYear": 1979},
+                  {"title": "Broken", "genre":
+                """;
+
+        MovieImportReportDto report = movieImportService.importMovies(stream(json), Format.JSON);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getError()).startsWith("Malformed input"));
+    }
+
+    @Test
+    void importMovies_WhenTheDatabaseRejectsARowForAnotherReason_ShouldReportItsRealReason() throws Exception {
+        String json = """
+                [
+                  {"title": "%s", "genre": "Drama", "duration": 90, "releaseYear": 2000},
+                  {"title": "Heat", "genre": "Crime", "duration": 170, "releaseYear": 1995}
+                ]
+                """.formatted("T".repeat(300));
+
+        MovieImportReportDto report = movieImportService.importMovies(stream(json), Format.JSON);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(1);
+            assertThat(error.getError()).startsWith("Rejected by the database").doesNotContain("already exists");
+        });
+        assertThat(movieRepository.existsByTitleKey("heat")).isTrue();
+    }
+
+    @Test
+    void importMovies_WithMoreRejectionsThanTheCap_ShouldCountAllAndListOnlyTheCap() throws Exception {
+        int badRows = MovieImportService.MAX_REPORTED_ERRORS + 50;
+        String rows = IntStream.rangeClosed(1, badRows)
+                .mapToObj(i -> "Movie " + i + ",Drama,-5,,2000")
+                .collect(Collectors.joining("\n"));
+
+        MovieImportReportDto report = movieImportService.importMovies(
+                stream("title,genre,duration,rating,releaseYear\n" + rows + "\n"), Format.CSV);
+
+        assertThat(report.getRejected()).isEqualTo(badRows);
+        assertThat(report.getErrors()).hasSize(MovieImportService.MAX_REPORTED_ERRORS);
+        assertThat(report.isErrorsTruncated()).isTrue();
+    }
+
+    @Test
+    void run_WithImportOption_ShouldImportTheFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("catalog.csv");
+        Files.writeString(file, "title,genre,duration,rating,releaseYear\nHeat,Crime,170,8.3,1995\n");
+
+        movieImportRunner.run(new DefaultApplicationArguments("--import-movies=" + file));
+
+        assertThat(movieRepository.existsByTitleKey("heat")).isTrue();
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
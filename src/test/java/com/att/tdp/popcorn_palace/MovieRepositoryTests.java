@@ -0,0 +1,66 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MovieRepositoryTests {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    void save_ShouldPopulateNormalizedTitleKey() {
+        Movie saved = movieRepository.save(createMovie("The Matrix"));
+
+        assertThat(saved.getTitleKey()).isEqualTo("the matrix");
+        assertThat(movieRepository.existsByTitleKey("the matrix")).isTrue();
+        assertThat(movieRepository.existsByTitleKey("the matrix reloaded")).isFalse();
+    }
+
+    @Test
+    void save_WithTitleDifferingOnlyInCase_ShouldViolateUniqueIndex() {
+        movieRepository.saveAndFlush(createMovie("The Matrix"));
+
+        assertThatThrownBy(() -> movieRepository.saveAndFlush(createMovie("THE MATRIX")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void forEachMovie_ShouldVisitEveryRowInIdOrder() {
+        movieRepository.saveAndFlush(createMovie("Alien"));
+        movieRepository.saveAndFlush(createMovie("Blade Runner"));
+
+        List<String> titles = new ArrayList<>();
+        movieRepository.forEachMovie(1, movie -> titles.add(movie.getTitle()));
+
+        assertThat(titles).containsExactly("Alien", "Blade Runner");
+    }
+
+    private Movie createMovie(String title) {
+        return Movie.builder()
+                .title(title)
+                .genre("Sci-Fi")
+                .duration(136)
+                .rating(8.7)
+                .releaseYear(1999)
+                .build();
+    }
+}
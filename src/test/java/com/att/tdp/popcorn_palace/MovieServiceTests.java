@@ -1,5 +1,7 @@
 package com.att.tdp.popcorn_palace;
 
+import com.att.tdp.popcorn_palace.config.CacheConfig;
+import com.att.tdp.popcorn_palace.dto.MoviePageDto;
 import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
 import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
 import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
@@ -11,13 +13,24 @@ import com.att.tdp.popcorn_palace.model.Ticket;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.CatalogVersionTracker;
+import com.att.tdp.popcorn_palace.service.MovieCache;
 import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -36,6 +49,21 @@ class MovieServiceTest {
     @Mock
     private TicketRepository ticketRepository;
 
+    @Mock
+    private CatalogVersionTracker versionTracker;
+
+    @Spy
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Spy
+    private SeatOccupancyIndex seatIndex = new SeatOccupancyIndex(Duration.ofMinutes(30));
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Spy
+    private MovieCache movieCache = new MovieCache(cacheManager);
+
     @InjectMocks
     private MovieService movieService;
 
@@ -96,7 +124,7 @@ class MovieServiceTest {
     void addMovie_WithValidInput_ShouldReturnSavedMovie() {
         MovieRequestDto request = createValidMovieRequest();
 
-        when(movieRepository.findAll()).thenReturn(Collections.emptyList());
+        when(movieRepository.existsByTitleKey("valid movie")).thenReturn(false);
 
         Movie saved = Movie.builder()
                 .id(1L)
@@ -107,35 +135,57 @@ class MovieServiceTest {
                 .releaseYear(request.getReleaseYear())
                 .build();
 
-        when(movieRepository.save(any(Movie.class))).thenReturn(saved);
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenReturn(saved);
 
         MovieResponseDto response = movieService.addMovie(request);
 
         assertThat(response).isNotNull();
         assertThat(response.getTitle()).isEqualTo("Valid Movie");
         assertThat(response.getId()).isEqualTo(1L);
-        verify(movieRepository).save(any(Movie.class));
+        verify(movieRepository).saveAndFlush(any(Movie.class));
+        verify(versionTracker).markMoviesChanged();
     }
 
     @Test
     void addMovie_WithDuplicateTitle_ShouldThrowAppException() {
         MovieRequestDto request = createValidMovieRequest();
+        request.setTitle("VALID movie");
 
-        Movie existingMovie = Movie.builder()
-                .id(1L)
-                .title(request.getTitle())
-                .genre("Action")
-                .duration(120)
-                .rating(8.0)
-                .releaseYear(2022)
-                .build();
+        when(movieRepository.existsByTitleKey("valid movie")).thenReturn(true);
+
+        AppException ex = assertThrows(AppException.class, () -> movieService.addMovie(request));
+
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.DUPLICATE_MOVIE_TITLE);
+        verify(movieRepository, never()).saveAndFlush(any(Movie.class));
+        verify(movieRepository, never()).findAll();
+    }
+
+    @Test
+    void addMovie_WhenConcurrentInsertWinsUniqueIndex_ShouldThrowAppException() {
+        MovieRequestDto request = createValidMovieRequest();
 
-        when(movieRepository.findAll()).thenReturn(List.of(existingMovie));
+        when(movieRepository.existsByTitleKey("valid movie")).thenReturn(false);
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException(
+                        "duplicate key value violates unique constraint \"uk_movies_title_key\"", "23505")));
 
         AppException ex = assertThrows(AppException.class, () -> movieService.addMovie(request));
 
         assertThat(ex.getErrorType()).isEqualTo(ErrorType.DUPLICATE_MOVIE_TITLE);
-        verify(movieRepository, never()).save(any(Movie.class));
+        assertThat(ex.getStatus().value()).isEqualTo(409);
+    }
+
+    @Test
+    void addMovie_WhenAnotherConstraintFails_ShouldNotReportADuplicateTitle() {
+        MovieRequestDto request = createValidMovieRequest();
+        final DataIntegrityViolationException failure = new DataIntegrityViolationException(
+                "could not execute statement", new SQLException(
+                        "null value in column \"genre\" violates not-null constraint", "23502"));
+
+        when(movieRepository.existsByTitleKey("valid movie")).thenReturn(false);
+        when(movieRepository.saveAndFlush(any(Movie.class))).thenThrow(failure);
+
+        assertThatThrownBy(() -> movieService.addMovie(request)).isSameAs(failure);
     }
 
     @Test
@@ -148,13 +198,55 @@ class MovieServiceTest {
         assertThat(result.get(0).getTitle()).isEqualTo("Test Movie");
     }
 
+    @Test
+    void getMoviesPage_WhenMoreRowsExist_ShouldReturnCursorOfLastMovie() {
+        Movie second = Movie.builder().id(2L).title("Second").build();
+        Movie third = Movie.builder().id(3L).title("Third").build();
+        when(movieRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3)))
+                .thenReturn(List.of(movie, second, third));
+
+        MoviePageDto page = movieService.getMoviesPage("id", "1", 2);
+
+        assertThat(page.getMovies()).extracting(MovieResponseDto::getId).containsExactly(1L, 2L);
+        assertThat(page.getNextCursor()).isEqualTo("2");
+        verify(movieRepository, never()).findAll();
+    }
+
+    @Test
+    void getMoviesPage_OnLastPageByTitle_ShouldReturnNullCursor() {
+        when(movieRepository.findByTitleGreaterThanOrderByTitleAsc("A", Limit.of(11)))
+                .thenReturn(List.of(movie));
+
+        MoviePageDto page = movieService.getMoviesPage("title", "A", 10);
+
+        assertThat(page.getMovies()).hasSize(1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getMoviesPage_WithPageSizeAboveMaximum_ShouldThrowAppException() {
+        AppException ex = assertThrows(AppException.class,
+                () -> movieService.getMoviesPage("id", null, MovieService.MAX_PAGE_SIZE + 1));
+
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.VALIDATION_ERROR);
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void getMoviesPage_WithUnknownSortKey_ShouldThrowAppException() {
+        AppException ex = assertThrows(AppException.class,
+                () -> movieService.getMoviesPage("genre", null, 10));
+
+        assertThat(ex.getStatus().value()).isEqualTo(400);
+    }
+
     @Test
     void deleteMovieByTitle_WhenExists_ShouldDeleteMovieAndCascade() {
         when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
 
         movieService.deleteMovieByTitle("Test Movie");
 
-        verify(movieRepository).deleteById(1L);
+        verify(movieRepository).markDeletedById(eq(1L), any(LocalDateTime.class));
     }
 
     @Test
@@ -174,37 +266,24 @@ class MovieServiceTest {
 
         movieService.deleteMovieByTitle("Test Movie");
 
-        verify(movieRepository).deleteById(1L);
+        verify(movieRepository).markDeletedById(eq(1L), any(LocalDateTime.class));
     }
 
     @Test
-    void deleteMovieByTitle_ShouldDeleteRelatedShowtimesAndTickets() {
-        Ticket ticket1 = Ticket.builder().id(1L).build();
-        Ticket ticket2 = Ticket.builder().id(2L).build();
-
-        Showtime showtime1 = Showtime.builder()
-                .id(10L)
-                .tickets(Set.of(ticket1, ticket2))
-                .build();
-
-        Movie testMovie = Movie.builder()
-                .id(1L)
-                .title("Test Movie")
-                .genre("Action")
-                .duration(120)
-                .rating(8.0)
-                .releaseYear(2023)
-                .showtimes(Set.of(showtime1))
-                .build();
-
-        when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(testMovie));
+    void deleteMovieByTitle_ShouldMarkMovieAndShowtimesDeleted() {
+        when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
+        when(showtimeRepository.findIdsByMovieId(1L)).thenReturn(List.of(10L));
+        seatIndex.getOrLoad(10L, List::of);
 
         movieService.deleteMovieByTitle("Test Movie");
 
-        verify(ticketRepository).delete(ticket1);
-        verify(ticketRepository).delete(ticket2);
-        verify(showtimeRepository).deleteById(showtime1.getId());
-        verify(movieRepository).deleteById(1L);
+        // The movie first, so showtimes being added for it are either waited out or refused
+        InOrder inOrder = inOrder(movieRepository, showtimeRepository);
+        inOrder.verify(movieRepository).markDeletedById(eq(1L), any(LocalDateTime.class));
+        inOrder.verify(showtimeRepository).markDeletedByMovieId(eq(1L), any(LocalDateTime.class));
+        verifyNoInteractions(ticketRepository);
+        verify(movieRepository, never()).deleteById(anyLong());
+        assertThat(seatIndex.find(10L)).isNull();
     }
 
     @Test
@@ -220,6 +299,53 @@ class MovieServiceTest {
         assertThat(result.getTitle()).isEqualTo("Test Movie");
     }
 
+    @Test
+    void updateMovie_WithTitleTakenByAnotherMovie_ShouldThrowAppException() {
+        MovieUpdateRequestDto request = MovieUpdateRequestDto.builder()
+                .title("Other Movie")
+                .build();
+
+        when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
+        when(movieRepository.existsByTitleKey("other movie")).thenReturn(true);
+
+        AppException ex = assertThrows(AppException.class,
+                () -> movieService.updateMovieByTitle("Test Movie", request));
+
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.DUPLICATE_MOVIE_TITLE);
+        verify(movieRepository, never()).save(any(Movie.class));
+    }
+
+    @Test
+    void updateMovie_WithNewTitle_ShouldEvictCachedEntriesForOldTitleAndId() {
+        MovieUpdateRequestDto request = MovieUpdateRequestDto.builder()
+                .title("Renamed Movie")
+                .build();
+        cacheManager.getCache(CacheConfig.MOVIES_BY_TITLE).put("Test Movie", new MovieResponseDto());
+        cacheManager.getCache(CacheConfig.MOVIES_BY_TITLE).put("Unrelated", new MovieResponseDto());
+        cacheManager.getCache(CacheConfig.MOVIES_BY_ID).put(1L, new MovieResponseDto());
+        cacheManager.getCache(CacheConfig.MOVIE_CATALOG).put("all", List.of());
+
+        when(movieRepository.findByTitle("Test Movie")).thenReturn(Optional.of(movie));
+        when(movieRepository.existsByTitleKey("renamed movie")).thenReturn(false);
+        when(movieRepository.save(any(Movie.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        movieService.updateMovieByTitle("Test Movie", request);
+
+        assertThat(cacheManager.getCache(CacheConfig.MOVIES_BY_TITLE).get("Test Movie")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.MOVIES_BY_TITLE).get("Unrelated")).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.MOVIES_BY_ID).get(1L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_CATALOG).get("all")).isNull();
+    }
+
+    @Test
+    void getMovieById_WhenNotFound_ShouldThrowAppException() {
+        when(movieRepository.findById(42L)).thenReturn(Optional.empty());
+
+        AppException ex = assertThrows(AppException.class, () -> movieService.getMovieById(42L));
+
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.MOVIE_NOT_FOUND);
+    }
+
     @Test
     void updateMovie_WithInvalidFields_ShouldThrowAppException() {
         MovieUpdateRequestDto request = createInvalidUpdateRequest();
@@ -0,0 +1,75 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.MovieRequestDto;
+import com.att.tdp.popcorn_palace.dto.MovieUpdateRequestDto;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.SoftDeletePurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+// The existence checks let a concurrent writer slip through; the title_key unique index must still
+// turn the loser into a 409 rather than a server error
+@SpringBootTest
+class MovieTitleConstraintTests {
+
+    @SpyBean
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository.deleteAll();
+        purger.purge();
+    }
+
+    @Test
+    void addMovie_WhenTheTitleIsTakenAfterTheExistenceCheck_ShouldReturnDuplicateTitle() {
+        movieService.addMovie(movie("Arrival"));
+        // As if the other insert committed between the check and this insert
+        doReturn(false).when(movieRepository).existsByTitleKey(any());
+
+        AppException exception = assertThrows(AppException.class, () -> movieService.addMovie(movie("ARRIVAL")));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.DUPLICATE_MOVIE_TITLE);
+        assertThat(movieRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateMovie_WhenTheNewTitleIsTakenAfterTheExistenceCheck_ShouldReturnDuplicateTitle() {
+        movieService.addMovie(movie("Arrival"));
+        movieService.addMovie(movie("Sicario"));
+        doReturn(false).when(movieRepository).existsByTitleKey(any());
+
+        AppException exception = assertThrows(AppException.class, () -> movieService.updateMovieByTitle(
+                "Sicario", MovieUpdateRequestDto.builder().title("arrival").build()));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.DUPLICATE_MOVIE_TITLE);
+        assertThat(exception.getMessage()).contains("'arrival'");
+    }
+
+    private static MovieRequestDto movie(String title) {
+        return MovieRequestDto.builder()
+                .title(title)
+                .genre("Sci-Fi")
+                .duration(116)
+                .rating(7.9)
+                .releaseYear(2016)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.att.tdp.popcorn_palace.service.SoftDeletePurger;
+import com.att.tdp.popcorn_palace.service.TicketInsertBatcher;
+import com.att.tdp.popcorn_palace.service.TicketService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// The reactive profile on Netty: reads over R2DBC from the database the JPA side writes to
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveCatalogTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Movie movie;
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        // Plain deletes: the purger is not part of this profile, and soft-deleted rows must go too
+        jdbcTemplate.update("DELETE FROM tickets");
+        jdbcTemplate.update("DELETE FROM showtimes");
+        jdbcTemplate.update("DELETE FROM movies");
+
+        movie = movieRepository.save(movie("Reactive Movie"));
+        showtime = showtimeRepository.save(Showtime.builder()
+                .movieId(movie.getId())
+                .theater("Hall 7")
+                .startTime(LocalDateTime.of(2032, 2, 1, 18, 0))
+                .endTime(LocalDateTime.of(2032, 2, 1, 20, 0))
+                .price(35.5f)
+                .build());
+    }
+
+    @Test
+    void getAllMovies_ShouldStreamEveryMovieThatIsNotDeleted() {
+        final Movie deleted = movieRepository.save(movie("Deleted Reactive Movie"));
+        jdbcTemplate.update("UPDATE movies SET deleted_at = ?, title_key = NULL WHERE id = ?",
+                LocalDateTime.now(), deleted.getId());
+
+        final List<MovieResponseDto> movies = webTestClient.get().uri("/movies/all")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(MovieResponseDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(movies).containsExactly(MovieResponseDto.builder()
+                .id(movie.getId())
+                .title("Reactive Movie")
+                .genre("Drama")
+                .duration(110)
+                .rating(7.5)
+                .releaseYear(2021)
+                .build());
+    }
+
+    @Test
+    void getShowtimeById_ShouldReturnTheSameResponseAsTheServletStack() {
+        final ShowtimeResponseDto response = webTestClient.get().uri("/showtimes/{id}", showtime.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ShowtimeResponseDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(response).isEqualTo(showtimeRepository.findResponseById(showtime.getId()).orElseThrow());
+    }
+
+    @Test
+    void getShowtimeById_WhenMissing_ShouldReturnNotFoundWithErrorType() {
+        webTestClient.get().uri("/showtimes/{id}", 999999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorType").isEqualTo("SHOWTIME_NOT_FOUND");
+    }
+
+    @Test
+    void writeEndpoints_ShouldNotBeServed() {
+        final double before = unsupportedRequests();
+
+        webTestClient.post().uri("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"showtimeId\": 1, \"seatNumber\": 1, \"userId\": \"user123\"}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errorType").isEqualTo("UNSUPPORTED_REQUEST");
+        assertThat(unsupportedRequests()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void writeSideAndBackgroundJobs_ShouldNotBeStarted() {
+        assertThat(applicationContext.getBeanNamesForType(MovieService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(TicketService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(ShowtimeService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(SoftDeletePurger.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(SeatHoldService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(TicketInsertBatcher.class)).isEmpty();
+    }
+
+    private double unsupportedRequests() {
+        return meterRegistry.get("api.errors").tag("errorType", "UNSUPPORTED_REQUEST").counter().count();
+    }
+
+    private static Movie movie(String title) {
+        return Movie.builder()
+                .title(title)
+                .genre("Drama")
+                .duration(110)
+                .rating(7.5)
+                .releaseYear(2021)
+                .build();
+    }
+}
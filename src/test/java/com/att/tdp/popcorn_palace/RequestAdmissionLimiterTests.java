@@ -0,0 +1,60 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.config.RequestAdmissionLimiter;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestAdmissionLimiterTests {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void preHandle_WhenEveryPermitIsTaken_ShouldRejectWithServerBusyAfterTheTimeout() {
+        final RequestAdmissionLimiter limiter = new RequestAdmissionLimiter(2, Duration.ofMillis(20));
+
+        assertThat(limiter.preHandle(request, response, new Object())).isTrue();
+        assertThat(limiter.preHandle(request, response, new Object())).isTrue();
+
+        AppException exception = assertThrows(AppException.class,
+                () -> limiter.preHandle(request, response, new Object()));
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SERVER_BUSY);
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void afterCompletion_ShouldAdmitTheNextRequest() {
+        final RequestAdmissionLimiter limiter = new RequestAdmissionLimiter(1, Duration.ofMillis(20));
+        limiter.preHandle(request, response, new Object());
+
+        limiter.afterCompletion(request, response, new Object(), null);
+
+        assertThat(limiter.preHandle(request, response, new Object())).isTrue();
+    }
+
+    @Test
+    void asyncRequest_ShouldHoldOnePermitAcrossBothDispatchesAndReleaseItOnce() throws Exception {
+        final RequestAdmissionLimiter limiter = new RequestAdmissionLimiter(4, Duration.ofMillis(20));
+
+        limiter.preHandle(request, response, new Object());
+        limiter.afterConcurrentHandlingStarted(request, response, new Object());
+        assertThat(limiter.available()).isEqualTo(3);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertThat(limiter.preHandle(request, response, new Object())).isTrue();
+        assertThat(limiter.available()).isEqualTo(3);
+        limiter.afterCompletion(request, response, new Object(), null);
+
+        assertThat(limiter.available()).isEqualTo(4);
+    }
+}
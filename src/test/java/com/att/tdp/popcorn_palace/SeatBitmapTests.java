@@ -0,0 +1,67 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.service.SeatBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SeatBitmapTests {
+
+    @Test
+    void tryClaim_ShouldSucceedOnlyOncePerSeat() {
+        SeatBitmap seats = SeatBitmap.of(List.of(3));
+
+        assertThat(seats.tryClaim(3)).isFalse();
+        assertThat(seats.tryClaim(64)).isTrue();
+        assertThat(seats.tryClaim(64)).isFalse();
+        assertThat(seats.isTaken(65)).isFalse();
+        assertThat(seats.countTaken()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldFreeTheSeatAgain() {
+        SeatBitmap seats = SeatBitmap.of(List.of(7));
+
+        seats.release(7);
+
+        assertThat(seats.isTaken(7)).isFalse();
+        assertThat(seats.tryClaim(7)).isTrue();
+    }
+
+    @Test
+    void hasUnsettledClaims_ShouldCountClaimsUntilSettledOrReleased() {
+        SeatBitmap seats = SeatBitmap.of(List.of(1));
+        assertThat(seats.hasUnsettledClaims()).isFalse();
+
+        seats.tryClaim(2);
+        seats.tryClaim(3);
+        seats.settle(1);
+        assertThat(seats.hasUnsettledClaims()).isTrue();
+
+        seats.release(3);
+        seats.release(3);
+        assertThat(seats.hasUnsettledClaims()).isFalse();
+        assertThat(seats.isTaken(2)).isTrue();
+    }
+
+    @Test
+    void toByteArray_ShouldPackSeatsLeastSignificantBitFirstAndTrimTrailingFreeSeats() {
+        SeatBitmap seats = SeatBitmap.of(List.of(1, 8, 10));
+
+        assertThat(seats.toByteArray()).containsExactly(0b0000_0010, 0b0000_0101);
+        assertThat(new SeatBitmap().toByteArray()).isEmpty();
+    }
+
+    @Test
+    void tryClaim_BeyondTheCapacity_ShouldNeverSucceed() {
+        SeatBitmap seats = SeatBitmap.of(List.of(SeatBitmap.DEFAULT_CAPACITY - 1, 50_000));
+
+        assertThat(seats.isTaken(SeatBitmap.DEFAULT_CAPACITY - 1)).isTrue();
+        assertThat(seats.isTaken(50_000)).isFalse();
+        assertThat(seats.tryClaim(-1)).isFalse();
+        assertThat(seats.countTaken()).isEqualTo(1);
+        assertThat(seats.toByteArray()).hasSize(SeatBitmap.DEFAULT_CAPACITY / Byte.SIZE + 1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.controller.SeatHoldController;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDto;
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SeatHoldController.class)
+@AutoConfigureMockMvc
+class SeatHoldControllerTests {
+
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void holdSeats_WithValidData_ShouldReturnHold() throws Exception {
+        BatchTicketRequestDto requestDto = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5))
+                .userId("user123")
+                .build();
+
+        when(seatHoldService.holdSeats(any(BatchTicketRequestDto.class))).thenReturn(
+                SeatHoldResponseDto.builder().holdId("hold-1").expiresAt(Instant.now()).build());
+
+        mockMvc.perform(post("/bookings/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.holdId").value("hold-1"));
+    }
+
+    @Test
+    void confirmHold_WhenExpired_ShouldReturnNotFound() throws Exception {
+        when(seatHoldService.confirmHold("hold-1")).thenThrow(
+                new AppException("Hold not found", HttpStatus.NOT_FOUND, ErrorType.HOLD_NOT_FOUND));
+
+        mockMvc.perform(post("/bookings/holds/hold-1/confirm"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorType").value("HOLD_NOT_FOUND"));
+    }
+}
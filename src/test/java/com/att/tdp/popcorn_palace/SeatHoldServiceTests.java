@@ -0,0 +1,98 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDto;
+import com.att.tdp.popcorn_palace.service.SeatBitmap;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.att.tdp.popcorn_palace.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTests {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private TicketService ticketService;
+
+    private SeatHoldService seatHoldService;
+
+    private final SeatBitmap seats = new SeatBitmap();
+
+    private final BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+            .showtimeId(1L)
+            .seatNumbers(List.of(4, 5))
+            .userId("user123")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        // Built by hand so no ticker thread runs; expiry is driven explicitly through expireHolds
+        seatHoldService = new SeatHoldService(ticketService, TTL, Duration.ofMillis(100));
+        when(ticketService.claimSeats(1L, List.of(4, 5))).thenAnswer(invocation -> {
+            seats.tryClaim(4);
+            seats.tryClaim(5);
+            return seats;
+        });
+    }
+
+    @Test
+    void confirmHold_ShouldInsertTheHeldSeats() {
+        SeatHoldResponseDto hold = seatHoldService.holdSeats(request);
+        BatchTicketResponseDto tickets = BatchTicketResponseDto.builder().bookingIds(List.of("a", "b")).build();
+        when(ticketService.insertClaimedSeats(1L, List.of(4, 5), "user123", seats)).thenReturn(tickets);
+
+        assertThat(seatHoldService.confirmHold(hold.getHoldId())).isEqualTo(tickets);
+        assertThat(seats.isTaken(4)).isTrue();
+    }
+
+    @Test
+    void releaseHold_ShouldFreeTheSeatsAndForgetTheHold() {
+        SeatHoldResponseDto hold = seatHoldService.holdSeats(request);
+
+        seatHoldService.releaseHold(hold.getHoldId());
+
+        assertThat(seats.countTaken()).isZero();
+        AppException exception = assertThrows(AppException.class,
+                () -> seatHoldService.confirmHold(hold.getHoldId()));
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.HOLD_NOT_FOUND);
+    }
+
+    @Test
+    void expireHolds_ShouldReleaseSeatsOnlyAfterTheTtl() {
+        SeatHoldResponseDto hold = seatHoldService.holdSeats(request);
+        long deadline = hold.getExpiresAt().toEpochMilli();
+
+        seatHoldService.expireHolds(deadline - 1_000);
+        assertThat(seats.countTaken()).isEqualTo(2);
+
+        seatHoldService.expireHolds(deadline + 100);
+        assertThat(seats.countTaken()).isZero();
+        assertThrows(AppException.class, () -> seatHoldService.confirmHold(hold.getHoldId()));
+        verify(ticketService, never()).insertClaimedSeats(any(), any(), any(), any());
+    }
+
+    @Test
+    void expireHolds_AfterConfirm_ShouldKeepTheSeats() {
+        SeatHoldResponseDto hold = seatHoldService.holdSeats(request);
+        seatHoldService.confirmHold(hold.getHoldId());
+
+        seatHoldService.expireHolds(hold.getExpiresAt().toEpochMilli() + 100);
+
+        assertThat(seats.countTaken()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,114 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.service.SeatBitmap;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SeatOccupancyIndexTests {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final SeatOccupancyIndex seatIndex = new SeatOccupancyIndex(IDLE_TIMEOUT);
+
+    @Test
+    void getOrLoad_WithConcurrentCallers_ShouldLoadOnceAndShareTheBitmap() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<SeatBitmap>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(callers.submit(() -> seatIndex.getOrLoad(1L, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return List.of(4);
+                })));
+            }
+            loading.await();
+            release.countDown();
+        }
+
+        final SeatBitmap first = results.get(0).get();
+        for (Future<SeatBitmap> result : results) {
+            assertThat(result.get()).isSameAs(first);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(first.isTaken(4)).isTrue();
+        assertThat(seatIndex.find(1L)).isSameAs(first);
+    }
+
+    @Test
+    void getOrLoad_WhenTheLoadFails_ShouldThrowAndLoadAgainNextTime() {
+        assertThatThrownBy(() -> seatIndex.getOrLoad(1L, () -> {
+            throw new IllegalStateException("connection lost");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(seatIndex.find(1L)).isNull();
+
+        assertThat(seatIndex.getOrLoad(1L, () -> List.of(2)).isTaken(2)).isTrue();
+    }
+
+    @Test
+    void evict_ShouldMakeTheNextCallReload() {
+        seatIndex.getOrLoad(1L, () -> List.of(2));
+
+        seatIndex.evict(1L);
+
+        assertThat(seatIndex.getOrLoad(1L, () -> List.of(3)).isTaken(2)).isFalse();
+    }
+
+    @Test
+    void refresh_ShouldAddSeatsFromTheTableAndKeepClaimsOnlyThisNodeKnows() {
+        final SeatBitmap seats = seatIndex.getOrLoad(1L, () -> List.of(2));
+        seats.tryClaim(9);
+
+        seatIndex.refresh(1L, () -> List.of(2, 3));
+
+        assertThat(seatIndex.find(1L)).isSameAs(seats);
+        assertThat(seats.isTaken(3)).isTrue();
+        assertThat(seats.isTaken(9)).isTrue();
+    }
+
+    @Test
+    void prune_ShouldDropIdleBitmapsButKeepThoseWithUnsettledClaims() {
+        seatIndex.getOrLoad(1L, () -> List.of(2));
+        final SeatBitmap held = seatIndex.getOrLoad(2L, () -> List.of());
+        held.tryClaim(7);
+        final SeatBitmap booked = seatIndex.getOrLoad(3L, () -> List.of());
+        booked.tryClaim(8);
+        booked.settle(1);
+
+        assertThat(seatIndex.prune(System.currentTimeMillis())).isZero();
+        assertThat(seatIndex.prune(System.currentTimeMillis() + IDLE_TIMEOUT.toMillis())).isEqualTo(2);
+
+        assertThat(seatIndex.find(1L)).isNull();
+        assertThat(seatIndex.find(2L)).isSameAs(held);
+        assertThat(seatIndex.find(3L)).isNull();
+        assertThat(seatIndex.getOrLoad(3L, () -> List.of(8)).isTaken(8)).isTrue();
+
+        // Once the hold is given back, its bitmap goes the same way
+        held.release(7);
+        assertThat(seatIndex.prune(System.currentTimeMillis() + IDLE_TIMEOUT.toMillis())).isEqualTo(2);
+        assertThat(seatIndex.find(2L)).isNull();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -9,15 +9,18 @@ import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
@@ -37,6 +40,12 @@ class ShowtimeControllerTests {
     @Mock
     private TicketRepository ticketRepository;
 
+    @Spy
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Spy
+    private SeatOccupancyIndex seatIndex = new SeatOccupancyIndex(Duration.ofMinutes(30));
+
     @InjectMocks
     private ShowtimeService showtimeService;
 
@@ -55,7 +64,6 @@ class ShowtimeControllerTests {
         movie.setDuration(100);
 
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findOverlappingShowtimes(any(), any(), any())).thenReturn(Collections.emptyList());
         when(showtimeRepository.save(any(Showtime.class))).thenAnswer(invocation -> {
             Showtime saved = invocation.getArgument(0);
             saved.setId(99L);
@@ -112,7 +120,6 @@ class ShowtimeControllerTests {
 
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findOverlappingShowtimes(any(), any(), any())).thenReturn(Collections.emptyList());
         when(showtimeRepository.save(any(Showtime.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ShowtimeResponseDto result = showtimeService.updateShowtime(1L, dto);
@@ -136,16 +143,11 @@ class ShowtimeControllerTests {
 
     @Test
     void deleteShowtime_WhenExists_ShouldDelete() {
-        Showtime showtime = Showtime.builder()
-                .id(1L)
-                .tickets(Set.of())
-                .build();
-
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+        when(showtimeRepository.markDeletedById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
 
         showtimeService.deleteShowtime(1L);
 
-        verify(showtimeRepository).deleteById(1L);
+        verify(showtimeRepository).markDeletedById(eq(1L), any(LocalDateTime.class));
     }
 
 
@@ -158,22 +160,17 @@ class ShowtimeControllerTests {
 
     @Test
     void getShowtimeById_WhenExists_ShouldReturnShowtimeResponseDto() {
-        Showtime showtime = new Showtime();
-        showtime.setId(100L);
-        showtime.setTheater("Main Hall");
-        showtime.setStartTime(LocalDateTime.of(2025, 4, 1, 10, 0));
-        showtime.setEndTime(LocalDateTime.of(2025, 4, 1, 12, 0));
-        showtime.setPrice(45.0f);
-
-        Movie movie = new Movie();
-        movie.setId(100L);
-        movie.setTitle("Sample Movie");
-        movie.setReleaseYear(2024);
-
-        showtime.setMovieId(movie.getId());
+        ShowtimeResponseDto projection = ShowtimeResponseDto.builder()
+                .id(100L)
+                .theater("Main Hall")
+                .startTime(LocalDateTime.of(2025, 4, 1, 10, 0))
+                .endTime(LocalDateTime.of(2025, 4, 1, 12, 0))
+                .price(45.0f)
+                .movieTitle("Sample Movie")
+                .movieReleaseYear(2024)
+                .build();
 
-        when(showtimeRepository.findById(100L)).thenReturn(Optional.of(showtime));
-        when(movieRepository.findById(100L)).thenReturn(Optional.of(movie));
+        when(showtimeRepository.findResponseById(100L)).thenReturn(Optional.of(projection));
 
         ShowtimeResponseDto response = showtimeService.getShowtimeById(100L);
 
@@ -182,5 +179,6 @@ class ShowtimeControllerTests {
         assertThat(response.getTheater()).isEqualTo("Main Hall");
         assertThat(response.getMovieTitle()).isEqualTo("Sample Movie");
         assertThat(response.getMovieReleaseYear()).isEqualTo(2024);
+        verifyNoInteractions(movieRepository);
     }
 }
@@ -0,0 +1,105 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.Exception.SqlStates;
+import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ShowtimeOverlapConstraintTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 14, 0);
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeOverlapIndex overlapIndex;
+
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        overlapIndex.rebuild(List.of());
+        movie = movieRepository.save(Movie.builder()
+                .title("Constraint Movie")
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2020)
+                .build());
+    }
+
+    @Test
+    void insert_OverlappingShowtimeInSameTheater_ShouldBeRejectedByDatabase() {
+        showtimeRepository.saveAndFlush(showtime("Hall 9", START, START.plusHours(2)));
+
+        assertThatThrownBy(() -> showtimeRepository.saveAndFlush(
+                showtime("Hall 9", START.plusHours(1), START.plusHours(3))))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .matches(e -> SqlStates.hasSqlState(e, SqlStates.EXCLUSION_VIOLATION));
+    }
+
+    @Test
+    void insert_OverlappingShowtimeInOtherTheater_ShouldBeAccepted() {
+        showtimeRepository.saveAndFlush(showtime("Hall 9", START, START.plusHours(2)));
+
+        showtimeRepository.saveAndFlush(showtime("Hall 10", START, START.plusHours(2)));
+
+        assertThat(showtimeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void addShowtime_WhenIndexMissesConcurrentWrite_ShouldMapViolationToOverlappingShowtime() {
+        // Written behind the service's back, as a concurrent request on another node would
+        showtimeRepository.saveAndFlush(showtime("Hall 9", START, START.plusHours(2)));
+
+        ShowtimeRequestDto request = ShowtimeRequestDto.builder()
+                .movieId(movie.getId())
+                .theater("Hall 9")
+                .startTime(START.plusHours(1))
+                .endTime(START.plusHours(3))
+                .price(30.0f)
+                .build();
+
+        AppException ex = assertThrows(AppException.class, () -> showtimeService.addShowtime(request));
+
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.OVERLAPPING_SHOWTIME);
+        assertThat(ex.getStatus().value()).isEqualTo(409);
+        assertThat(showtimeRepository.count()).isEqualTo(1);
+    }
+
+    private Showtime showtime(String theater, LocalDateTime start, LocalDateTime end) {
+        return Showtime.builder()
+                .movieId(movie.getId())
+                .theater(theater)
+                .startTime(start)
+                .endTime(end)
+                .price(30.0f)
+                .build();
+    }
+}
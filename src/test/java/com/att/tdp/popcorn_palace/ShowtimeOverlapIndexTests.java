@@ -0,0 +1,134 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ShowtimeOverlapIndexTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+    private final ShowtimeOverlapIndex index = new ShowtimeOverlapIndex();
+
+    @Test
+    void findOverlap_ShouldDetectEveryKindOfIntersection() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(13), at(15))).isPresent();
+        assertThat(index.findOverlap(null, "Hall 1", at(15), at(17))).isPresent();
+        assertThat(index.findOverlap(null, "Hall 1", at(12), at(18))).isPresent();
+        assertThat(index.findOverlap(null, "Hall 1", at(14).plusMinutes(30), at(15))).isPresent();
+    }
+
+    @Test
+    void findOverlap_ShouldTreatTouchingBoundariesAsOverlap() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(16), at(18))).isPresent();
+        assertThat(index.findOverlap(null, "Hall 1", at(12), at(14))).isPresent();
+    }
+
+    @Test
+    void findOverlap_ShouldIgnoreOtherTheatersDisjointSlotsAndTheExcludedShowtime() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+        index.put(slot(2L, "Hall 2", 10, 22));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(17), at(19))).isEmpty();
+        assertThat(index.findOverlap(1L, "Hall 1", at(14), at(16))).isEmpty();
+        assertThat(index.findOverlap(null, "Hall 3", at(14), at(16))).isEmpty();
+    }
+
+    @Test
+    void findOverlap_ShouldFindLongSlotStartingWellBeforeTheWindow() {
+        index.put(slot(1L, "Hall 1", 1, 2));
+        index.put(slot(2L, "Hall 1", 3, 23));
+        index.put(slot(3L, "Hall 1", 4, 5));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(20), at(21)))
+                .get().extracting(ShowtimeSlotDto::getId).isEqualTo(2L);
+    }
+
+    @Test
+    void put_WithExistingId_ShouldMoveTheSlot() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+        index.put(slot(1L, "Hall 2", 18, 20));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(14), at(16))).isEmpty();
+        assertThat(index.findOverlap(null, "Hall 2", at(19), at(21))).isPresent();
+    }
+
+    @Test
+    void rebuild_ShouldReplaceAllSlots() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+
+        index.rebuild(List.of(slot(2L, "Hall 1", 18, 20)));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(14), at(16))).isEmpty();
+        assertThat(index.findOverlap(null, "Hall 1", at(19), at(19))).isPresent();
+    }
+
+    @Test
+    void remove_ShouldFreeTheSlot() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+
+        index.remove(1L);
+
+        assertThat(index.findOverlap(null, "Hall 1", at(14), at(16))).isEmpty();
+    }
+
+    @Test
+    void findOverlap_ShouldAgreeWithAFullScanAcrossInsertsAndRemovals() {
+        final Random random = new Random(42);
+        final Map<Long, ShowtimeSlotDto> live = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            final LocalDateTime start = DAY.plusMinutes(random.nextInt(100_000));
+            // A few very long slots, which a start-time window scan would have to widen for
+            final long minutes = id % 100 == 0 ? 20_000 : 30 + random.nextInt(180);
+            final ShowtimeSlotDto slot = new ShowtimeSlotDto(id, "Hall 1", start, start.plusMinutes(minutes));
+            index.put(slot);
+            live.put(id, slot);
+            if (random.nextInt(3) == 0) {
+                final long removed = 1 + random.nextInt((int) id);
+                index.remove(removed);
+                live.remove(removed);
+            }
+        }
+
+        for (int probe = 0; probe < 2000; probe++) {
+            final LocalDateTime start = DAY.plusMinutes(random.nextInt(110_000));
+            final LocalDateTime end = start.plusMinutes(random.nextInt(240));
+            final boolean expected = live.values().stream()
+                    .anyMatch(slot -> !slot.getStartTime().isAfter(end) && !slot.getEndTime().isBefore(start));
+            assertThat(index.findOverlap(null, "Hall 1", start, end).isPresent()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void resync_ShouldDropSlotsTheDatabaseNoLongerHasInTheWindow() {
+        index.put(slot(1L, "Hall 1", 14, 16));
+        index.put(slot(2L, "Hall 1", 20, 22));
+
+        index.resync("Hall 1", at(13), at(17), List.of(slot(3L, "Hall 1", 15, 17)));
+
+        assertThat(index.findOverlap(null, "Hall 1", at(16), at(16)))
+                .get().extracting(ShowtimeSlotDto::getId).isEqualTo(3L);
+        assertThat(index.findOverlap(3L, "Hall 1", at(13), at(17))).isEmpty();
+        assertThat(index.findOverlap(null, "Hall 1", at(21), at(21))).isPresent();
+    }
+
+    private static ShowtimeSlotDto slot(Long id, String theater, int startHour, int endHour) {
+        return new ShowtimeSlotDto(id, theater, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -0,0 +1,67 @@
+package com.att.tdp.popcorn_palace;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// H2 stand-in for the PostgreSQL showtimes_no_overlap exclusion constraint, raising the same SQL state.
+// Like the constraint, it only considers showtimes that are not soft-deleted
+public class ShowtimeOverlapTrigger implements Trigger {
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private int idColumn;
+    private int theaterColumn;
+    private int startTimeColumn;
+    private int endTimeColumn;
+    private int deletedAtColumn;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) throws SQLException {
+        final List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION")) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1).toLowerCase());
+                }
+            }
+        }
+        idColumn = columns.indexOf("id");
+        theaterColumn = columns.indexOf("theater");
+        startTimeColumn = columns.indexOf("start_time");
+        endTimeColumn = columns.indexOf("end_time");
+        deletedAtColumn = columns.indexOf("deleted_at");
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (newRow[deletedAtColumn] != null) {
+            return;
+        }
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT id FROM showtimes WHERE theater = ? AND start_time <= ? AND end_time >= ? "
+                        + "AND deleted_at IS NULL AND (CAST(? AS BIGINT) IS NULL OR id <> ?)")) {
+            statement.setObject(1, newRow[theaterColumn]);
+            statement.setObject(2, newRow[endTimeColumn]);
+            statement.setObject(3, newRow[startTimeColumn]);
+            statement.setObject(4, newRow[idColumn]);
+            statement.setObject(5, newRow[idColumn]);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    throw new SQLException("Showtime conflicts with showtime " + rs.getLong(1)
+                            + " in theater " + newRow[theaterColumn], EXCLUSION_VIOLATION);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class ShowtimeQueryCountTests {
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        overlapIndex.rebuild(List.of());
+
+        Movie movie = movieRepository.save(Movie.builder()
+                .title("Query Count Movie")
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2018)
+                .build());
+        showtime = showtimeRepository.save(Showtime.builder()
+                .movieId(movie.getId())
+                .theater("Hall 7")
+                .startTime(LocalDateTime.of(2030, 2, 1, 18, 0))
+                .endTime(LocalDateTime.of(2030, 2, 1, 20, 0))
+                .price(40.0f)
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getShowtimeById_ShouldIssueExactlyOneStatement() {
+        ShowtimeResponseDto response = showtimeService.getShowtimeById(showtime.getId());
+
+        assertThat(response.getMovieTitle()).isEqualTo("Query Count Movie");
+        assertThat(response.getMovieReleaseYear()).isEqualTo(2018);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getShowtimeById_WhenMissing_ShouldIssueExactlyOneStatement() {
+        assertThatThrownBy(() -> showtimeService.getShowtimeById(showtime.getId() + 1000))
+                .hasMessageContaining("not found");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,134 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.SoftDeletePurger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ShowtimeScheduleTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        purger.purge();
+        overlapIndex.rebuild(List.of());
+
+        movie = movieRepository.save(Movie.builder()
+                .title("Schedule Movie")
+                .genre("Drama")
+                .duration(120)
+                .releaseYear(2020)
+                .build());
+    }
+
+    @Test
+    void schedule_ShouldCreateSixWeeksOfShowtimesWithAConstantNumberOfStatements() throws Exception {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/showtimes/schedule")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(schedule(LocalTime.of(14, 0), LocalTime.of(19, 30)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(84));
+
+        // Movie lookup, theater range query, one sequence fetch per 50 ids and one insert per 50 rows
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+        assertThat(showtimeRepository.count()).isEqualTo(84);
+        assertThat(overlapIndex.findOverlap(null, "Hall 3",
+                LocalDateTime.of(2030, 6, 3, 15, 0), LocalDateTime.of(2030, 6, 3, 15, 30))).isPresent();
+    }
+
+    @Test
+    void schedule_WithConflicts_ShouldReturnThemAllAndCreateNothing() throws Exception {
+        for (int day : new int[] {4, 11}) {
+            showtimeRepository.save(Showtime.builder()
+                    .movieId(movie.getId())
+                    .theater("Hall 3")
+                    .startTime(LocalDateTime.of(2030, 6, day, 20, 0))
+                    .endTime(LocalDateTime.of(2030, 6, day, 22, 0))
+                    .price(30.0f)
+                    .build());
+        }
+
+        mockMvc.perform(post("/showtimes/schedule")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(schedule(LocalTime.of(14, 0), LocalTime.of(19, 30)))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorType").value("OVERLAPPING_SHOWTIME"))
+                .andExpect(jsonPath("$.conflicts.length()").value(2));
+
+        assertThat(showtimeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void schedule_WithoutStartTimes_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/showtimes/schedule")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(schedule())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.startTimes").exists());
+    }
+
+    // Every day for six weeks, starting Monday 2030-06-03
+    private ShowtimeScheduleRequestDto schedule(LocalTime... startTimes) {
+        return ShowtimeScheduleRequestDto.builder()
+                .movieId(movie.getId())
+                .theater("Hall 3")
+                .price(45.0f)
+                .startDate(LocalDate.of(2030, 6, 3))
+                .endDate(LocalDate.of(2030, 7, 14))
+                .startTimes(List.of(startTimes))
+                .durationMinutes(150)
+                .build();
+    }
+}
@@ -1,23 +1,35 @@
 package com.att.tdp.popcorn_palace;
 
+import com.att.tdp.popcorn_palace.dto.SeatMapDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeConflictDto;
 import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
 import com.att.tdp.popcorn_palace.dto.ShowtimeResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeScheduleRequestDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeSlotDto;
 import com.att.tdp.popcorn_palace.Exception.AppException;
 import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.Exception.ShowtimeScheduleConflictException;
 import com.att.tdp.popcorn_palace.model.Movie;
 import com.att.tdp.popcorn_palace.model.Showtime;
 import com.att.tdp.popcorn_palace.model.Ticket;
 import com.att.tdp.popcorn_palace.repository.MovieRepository;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
 import com.att.tdp.popcorn_palace.service.ShowtimeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -36,6 +48,12 @@ class ShowtimeServiceTest {
     @Mock
     private TicketRepository ticketRepository;
 
+    @Spy
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Spy
+    private SeatOccupancyIndex seatIndex = new SeatOccupancyIndex(Duration.ofMinutes(30));
+
     @InjectMocks
     private ShowtimeService showtimeService;
 
@@ -59,8 +77,6 @@ class ShowtimeServiceTest {
         Movie movie = createMovie();
 
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findOverlappingShowtimes(any(), any(), any()))
-                .thenReturn(new ArrayList<>());
         when(showtimeRepository.save(any())).thenAnswer(i -> {
             Showtime s = i.getArgument(0);
             s.setId(10L);
@@ -72,6 +88,7 @@ class ShowtimeServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(10L);
         verify(showtimeRepository).save(any());
+        verify(movieRepository, times(1)).findById(1L);
     }
 
     @Test
@@ -96,14 +113,38 @@ class ShowtimeServiceTest {
         ShowtimeRequestDto request = createValidRequest();
         Movie movie = createMovie();
 
+        ShowtimeSlotDto taken = new ShowtimeSlotDto(5L, "A1", request.getEndTime(), request.getEndTime().plusHours(2));
+
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findOverlappingShowtimes(any(), any(), any()))
-                .thenReturn(new ArrayList<>(List.of(new Showtime())));
+        when(showtimeRepository.findSlotsByTheaterBetween("A1", request.getStartTime(), request.getEndTime()))
+                .thenReturn(List.of(taken));
+        overlapIndex.put(taken);
 
         AppException ex = assertThrows(AppException.class, () -> showtimeService.addShowtime(request));
         assertThat(ex.getErrorType()).isEqualTo(ErrorType.OVERLAPPING_SHOWTIME);
     }
 
+    @Test
+    void addShowtime_WhenTheIndexedSlotWasFreedOnAnotherInstance_ShouldSaveAndDropTheStaleSlot() {
+        ShowtimeRequestDto request = createValidRequest();
+        Movie movie = createMovie();
+        overlapIndex.put(new ShowtimeSlotDto(5L, "A1", request.getStartTime(), request.getEndTime()));
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(showtimeRepository.findSlotsByTheaterBetween("A1", request.getStartTime(), request.getEndTime()))
+                .thenReturn(List.of());
+        when(showtimeRepository.save(any())).thenAnswer(i -> {
+            Showtime showtime = i.getArgument(0);
+            showtime.setId(6L);
+            return showtime;
+        });
+
+        showtimeService.addShowtime(request);
+
+        assertThat(overlapIndex.findOverlap(null, "A1", request.getStartTime(), request.getEndTime()))
+                .get().extracting(ShowtimeSlotDto::getId).isEqualTo(6L);
+    }
+
     @Test
     void updateShowtime_WithValidData_ShouldUpdateSuccessfully() {
         ShowtimeRequestDto request = createValidRequest();
@@ -112,7 +153,6 @@ class ShowtimeServiceTest {
 
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findOverlappingShowtimes(any(), any(), any())).thenReturn(new ArrayList<>());
         when(showtimeRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         ShowtimeResponseDto response = showtimeService.updateShowtime(1L, request);
@@ -121,6 +161,35 @@ class ShowtimeServiceTest {
         assertThat(response.getTheater()).isEqualTo("A1");
     }
 
+    @Test
+    void updateShowtime_OverlappingOnlyItsOwnSlot_ShouldUpdateSuccessfully() {
+        ShowtimeRequestDto request = createValidRequest();
+        Showtime existing = Showtime.builder().id(1L).build();
+        overlapIndex.put(new ShowtimeSlotDto(1L, "A1", request.getStartTime(), request.getEndTime()));
+
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(createMovie()));
+        when(showtimeRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        ShowtimeResponseDto response = showtimeService.updateShowtime(1L, request);
+
+        assertThat(response.getStartTime()).isEqualTo(request.getStartTime());
+        assertThat(overlapIndex.findOverlap(null, "A1", request.getStartTime(), request.getEndTime()))
+                .get().extracting(ShowtimeSlotDto::getId).isEqualTo(1L);
+    }
+
+    @Test
+    void deleteShowtime_ShouldFreeItsSlotInTheIndex() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        overlapIndex.put(new ShowtimeSlotDto(1L, "A1", start, start.plusHours(2)));
+
+        when(showtimeRepository.markDeletedById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+
+        showtimeService.deleteShowtime(1L);
+
+        assertThat(overlapIndex.findOverlap(null, "A1", start, start.plusHours(2))).isEmpty();
+    }
+
     @Test
     void updateShowtime_WhenMovieNotFound_ShouldThrow() {
         ShowtimeRequestDto request = createValidRequest();
@@ -140,8 +209,11 @@ class ShowtimeServiceTest {
         Movie movie = createMovie();
 
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(existing));
+        ShowtimeSlotDto taken = new ShowtimeSlotDto(2L, "A1", request.getStartTime().minusHours(1), request.getStartTime().plusMinutes(5));
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(showtimeRepository.findOverlappingShowtimes(any(), any(), any())).thenReturn(new ArrayList<>(List.of(new Showtime())));
+        when(showtimeRepository.findSlotsByTheaterBetween("A1", request.getStartTime(), request.getEndTime()))
+                .thenReturn(List.of(taken));
+        overlapIndex.put(taken);
 
         AppException ex = assertThrows(AppException.class, () -> showtimeService.updateShowtime(1L, request));
         assertThat(ex.getErrorType()).isEqualTo(ErrorType.OVERLAPPING_SHOWTIME);
@@ -158,18 +230,14 @@ class ShowtimeServiceTest {
     }
 
     @Test
-    void deleteShowtime_ShouldDeleteOnlyItsTickets() {
-        Ticket t1 = Ticket.builder().id(1L).build();
-        Ticket t2 = Ticket.builder().id(2L).build();
-        Showtime showtime = Showtime.builder().id(1L).tickets(Set.of(t1, t2)).build();
-
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
+    void deleteShowtime_ShouldOnlyMarkItDeleted() {
+        when(showtimeRepository.markDeletedById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
 
         showtimeService.deleteShowtime(1L);
 
-        verify(ticketRepository).delete(t1);
-        verify(ticketRepository).delete(t2);
-        verify(showtimeRepository).deleteById(1L);
+        verify(showtimeRepository, never()).findById(anyLong());
+        verify(showtimeRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(ticketRepository);
     }
 
     @Test
@@ -181,9 +249,139 @@ class ShowtimeServiceTest {
 
     @Test
     void getShowtimeById_WhenNotFound_ShouldThrowException() {
-        when(showtimeRepository.findById(404L)).thenReturn(Optional.empty());
+        when(showtimeRepository.findResponseById(404L)).thenReturn(Optional.empty());
 
         AppException ex = assertThrows(AppException.class, () -> showtimeService.getShowtimeById(404L));
         assertThat(ex.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
     }
+
+    @Test
+    void getSeatMap_ShouldEncodeBookedSeatsAndLoadThemOnlyOnce() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(1, 8));
+
+        SeatMapDto first = showtimeService.getSeatMap(1L);
+        SeatMapDto second = showtimeService.getSeatMap(1L);
+
+        assertThat(first.getBookedSeats()).isEqualTo(2);
+        assertThat(Base64.getDecoder().decode(first.getBitmap())).containsExactly(0b0000_0010, 0b0000_0001);
+        assertThat(second).isEqualTo(first);
+        verify(showtimeRepository, times(1)).existsById(1L);
+        verify(ticketRepository, times(1)).findSeatNumbersByShowtimeId(1L);
+    }
+
+    @Test
+    void getSeatMap_WhenNotFound_ShouldThrowException() {
+        when(showtimeRepository.existsById(404L)).thenReturn(false);
+
+        AppException ex = assertThrows(AppException.class, () -> showtimeService.getSeatMap(404L));
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        verify(ticketRepository, never()).findSeatNumbersByShowtimeId(any());
+    }
+
+    private ShowtimeScheduleRequestDto createSchedule(LocalDate from, LocalDate to, LocalTime... startTimes) {
+        return ShowtimeScheduleRequestDto.builder()
+                .movieId(1L)
+                .theater("Hall 3")
+                .price(40.0f)
+                .startDate(from)
+                .endDate(to)
+                .startTimes(List.of(startTimes))
+                .durationMinutes(120)
+                .build();
+    }
+
+    @Test
+    void scheduleShowtimes_ShouldExpandRecurrenceAndInsertInOneBatch() {
+        // 2030-01-07 is a Monday
+        ShowtimeScheduleRequestDto schedule = createSchedule(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 13),
+                LocalTime.of(19, 30), LocalTime.of(14, 0));
+        schedule.setDaysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(createMovie()));
+        when(showtimeRepository.findSlotsByTheaterBetween(any(), any(), any())).thenReturn(List.of());
+        when(showtimeRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Showtime> showtimes = inv.getArgument(0);
+            for (int i = 0; i < showtimes.size(); i++) {
+                showtimes.get(i).setId(100L + i);
+            }
+            return showtimes;
+        });
+
+        List<ShowtimeResponseDto> result = showtimeService.scheduleShowtimes(schedule);
+
+        assertThat(result).extracting(ShowtimeResponseDto::getStartTime).containsExactly(
+                LocalDateTime.of(2030, 1, 7, 14, 0),
+                LocalDateTime.of(2030, 1, 7, 19, 30),
+                LocalDateTime.of(2030, 1, 9, 14, 0),
+                LocalDateTime.of(2030, 1, 9, 19, 30));
+        verify(showtimeRepository).findSlotsByTheaterBetween("Hall 3",
+                LocalDateTime.of(2030, 1, 7, 14, 0), LocalDateTime.of(2030, 1, 9, 21, 30));
+        verify(showtimeRepository, times(1)).saveAll(anyList());
+        verify(showtimeRepository, never()).save(any(Showtime.class));
+    }
+
+    @Test
+    void scheduleShowtimes_ShouldReportEveryConflictAndInsertNothing() {
+        ShowtimeScheduleRequestDto schedule = createSchedule(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 8),
+                LocalTime.of(14, 0), LocalTime.of(19, 30));
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(createMovie()));
+        // One overlaps the first evening show, the other only touches the second afternoon show
+        when(showtimeRepository.findSlotsByTheaterBetween(any(), any(), any())).thenReturn(List.of(
+                new ShowtimeSlotDto(7L, "Hall 3", LocalDateTime.of(2030, 1, 7, 20, 0), LocalDateTime.of(2030, 1, 7, 22, 0)),
+                new ShowtimeSlotDto(8L, "Hall 3", LocalDateTime.of(2030, 1, 8, 12, 0), LocalDateTime.of(2030, 1, 8, 14, 0))));
+
+        ShowtimeScheduleConflictException ex = assertThrows(ShowtimeScheduleConflictException.class,
+                () -> showtimeService.scheduleShowtimes(schedule));
+
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.OVERLAPPING_SHOWTIME);
+        assertThat(ex.getConflicts()).extracting(ShowtimeConflictDto::getStartTime, ShowtimeConflictDto::getConflictingShowtimeId)
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDateTime.of(2030, 1, 7, 19, 30), 7L),
+                        tuple(LocalDateTime.of(2030, 1, 8, 14, 0), 8L));
+        verify(showtimeRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void scheduleShowtimes_WhenOccurrencesOverlapEachOther_ShouldReportThem() {
+        ShowtimeScheduleRequestDto schedule = createSchedule(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 7),
+                LocalTime.of(14, 0), LocalTime.of(15, 0));
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(createMovie()));
+        when(showtimeRepository.findSlotsByTheaterBetween(any(), any(), any())).thenReturn(List.of());
+
+        ShowtimeScheduleConflictException ex = assertThrows(ShowtimeScheduleConflictException.class,
+                () -> showtimeService.scheduleShowtimes(schedule));
+
+        assertThat(ex.getConflicts()).singleElement().satisfies(conflict -> {
+            assertThat(conflict.getStartTime()).isEqualTo(LocalDateTime.of(2030, 1, 7, 15, 0));
+            assertThat(conflict.getConflictingShowtimeId()).isNull();
+            assertThat(conflict.getConflictingStartTime()).isEqualTo(LocalDateTime.of(2030, 1, 7, 14, 0));
+        });
+    }
+
+    @Test
+    void scheduleShowtimes_WhenShorterThanMovie_ShouldRejectBeforeQueryingTheater() {
+        ShowtimeScheduleRequestDto schedule = createSchedule(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 8),
+                LocalTime.of(14, 0));
+        schedule.setDurationMinutes(90);
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(createMovie()));
+
+        AppException ex = assertThrows(AppException.class, () -> showtimeService.scheduleShowtimes(schedule));
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.INVALID_SHOWTIME);
+        verify(showtimeRepository, never()).findSlotsByTheaterBetween(any(), any(), any());
+    }
+
+    @Test
+    void scheduleShowtimes_WhenExpandingTooFar_ShouldThrowValidationError() {
+        ShowtimeScheduleRequestDto schedule = createSchedule(LocalDate.of(2030, 1, 1), LocalDate.of(2032, 12, 31),
+                LocalTime.of(14, 0));
+
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(createMovie()));
+
+        AppException ex = assertThrows(AppException.class, () -> showtimeService.scheduleShowtimes(schedule));
+        assertThat(ex.getErrorType()).isEqualTo(ErrorType.VALIDATION_ERROR);
+    }
 }
@@ -0,0 +1,202 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingEngine;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.SingleWriterBookingEngine;
+import com.att.tdp.popcorn_palace.service.SnowflakeBookingIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "popcorn-palace.booking.mode=single-writer")
+class SingleWriterBookingEngineTests {
+
+    @Autowired
+    private BookingEngine bookingEngine;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private SeatOccupancyIndex seatIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Movie movie;
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder()
+                .title("Single Writer Movie")
+                .genre("Thriller")
+                .duration(100)
+                .releaseYear(2022)
+                .build());
+        showtime = showtimeRepository.save(Showtime.builder()
+                .movieId(movie.getId())
+                .theater("Hall W")
+                .startTime(LocalDateTime.of(2032, 5, 1, 20, 0))
+                .endTime(LocalDateTime.of(2032, 5, 1, 22, 0))
+                .price(30.0f)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("UPDATE showtimes SET deleted_at = NULL WHERE id = ?", showtime.getId());
+        ticketRepository.deleteAll(ticketRepository.findAll().stream()
+                .filter(ticket -> ticket.getShowtimeId().equals(showtime.getId()))
+                .toList());
+        showtimeRepository.deleteById(showtime.getId());
+        movieRepository.deleteById(movie.getId());
+        seatIndex.evict(showtime.getId());
+    }
+
+    @Test
+    void bookingMode_ShouldSelectTheSingleWriterEngine() {
+        assertThat(bookingEngine).isInstanceOf(SingleWriterBookingEngine.class);
+    }
+
+    @Test
+    void bookTicket_WithParallelRequestsForOneSeat_ShouldLetExactlyOneWin() throws Exception {
+        List<Future<String>> results = bookInParallel(1_000, i -> 7);
+
+        assertThat(countWinners(results)).isEqualTo(1);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtime.getId())).containsExactly(7);
+    }
+
+    @Test
+    void bookTicket_WithParallelRequestsForDifferentSeats_ShouldBookEverySeat() throws Exception {
+        List<Future<String>> results = bookInParallel(300, i -> i + 1);
+
+        assertThat(countWinners(results)).isEqualTo(300);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtime.getId())).hasSize(300);
+    }
+
+    @Test
+    void bookTicket_WhenSeatWasBookedBehindTheBitmap_ShouldFailOnlyThatBooking() {
+        bookingEngine.bookTicket(request(1, "early-bird"));
+        ticketRepository.save(Ticket.builder()
+                .showtimeId(showtime.getId())
+                .seatNumber(8)
+                .userId("other-node")
+                .bookingId(new SnowflakeBookingIdGenerator(1).nextId())
+                .build());
+
+        AppException exception = assertThrows(AppException.class,
+                () -> bookingEngine.bookTicket(request(8, "user123")));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        assertThat(bookingEngine.bookTicket(request(9, "user123")).getBookingId()).isNotBlank();
+    }
+
+    @Test
+    void bookTicket_WhenShowtimeWasDeletedOnAnotherInstance_ShouldThrowNotFoundDespiteTheCachedBitmap() {
+        bookingEngine.bookTicket(request(1, "early-bird"));
+        jdbcTemplate.update("UPDATE showtimes SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", showtime.getId());
+
+        AppException exception = assertThrows(AppException.class,
+                () -> bookingEngine.bookTicket(request(2, "user123")));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtime.getId())).containsExactly(1);
+        assertThat(seatIndex.find(showtime.getId())).isNull();
+    }
+
+    @Test
+    void bookTicket_WhenShowtimeDoesNotExist_ShouldThrowNotFound() {
+        AppException exception = assertThrows(AppException.class,
+                () -> bookingEngine.bookTicket(TicketRequestDto.builder()
+                        .showtimeId(-1L)
+                        .seatNumber(1)
+                        .userId("user123")
+                        .build()));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        assertThat(((SingleWriterBookingEngine) bookingEngine).activeMailboxes()).isZero();
+    }
+
+    @Test
+    void bookTicket_AfterTheQueueDrains_ShouldDropTheMailbox() throws Exception {
+        countWinners(bookInParallel(200, i -> i + 1));
+
+        // The writer removes the mailbox just after completing the last booking
+        final SingleWriterBookingEngine engine = (SingleWriterBookingEngine) bookingEngine;
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (engine.activeMailboxes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(engine.activeMailboxes()).isZero();
+    }
+
+    private List<Future<String>> bookInParallel(int requests, IntUnaryOperator seatFor) {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<String>> results = new ArrayList<>(requests);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                final TicketRequestDto request = request(seatFor.applyAsInt(i), "user" + i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return bookingEngine.bookTicket(request).getBookingId();
+                }));
+            }
+            start.countDown();
+        }
+        return results;
+    }
+
+    private int countWinners(List<Future<String>> results) throws InterruptedException {
+        int winners = 0;
+        for (Future<String> result : results) {
+            try {
+                assertThat(result.get()).isNotBlank();
+                winners++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOfSatisfying(AppException.class,
+                        ex -> assertThat(ex.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED));
+            }
+        }
+        return winners;
+    }
+
+    private TicketRequestDto request(int seatNumber, String userId) {
+        return TicketRequestDto.builder()
+                .showtimeId(showtime.getId())
+                .seatNumber(seatNumber)
+                .userId(userId)
+                .build();
+    }
+}
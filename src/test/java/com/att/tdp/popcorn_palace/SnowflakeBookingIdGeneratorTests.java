@@ -0,0 +1,67 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.service.SnowflakeBookingIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SnowflakeBookingIdGeneratorTests {
+
+    @Test
+    void nextId_ShouldKeepIncreasingWithinOneNode() {
+        SnowflakeBookingIdGenerator generator = new SnowflakeBookingIdGenerator(3);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_ShouldCarryTheNodeId() {
+        long id = new SnowflakeBookingIdGenerator(1023).nextId();
+
+        assertThat((id >>> 12) & 1023).isEqualTo(1023);
+        assertThat(id).isPositive();
+    }
+
+    @Test
+    void nextId_ShouldStayUniqueAcrossThreads() throws Exception {
+        SnowflakeBookingIdGenerator generator = new SnowflakeBookingIdGenerator(0);
+        List<Future<List<Long>>> batches = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                batches.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>(50_000);
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<Long> unique = new HashSet<>();
+        for (Future<List<Long>> batch : batches) {
+            unique.addAll(batch.get());
+        }
+        assertThat(unique).hasSize(8 * 50_000);
+    }
+
+    @Test
+    void constructor_WithNodeIdOutOfRange_ShouldThrow() {
+        assertThatThrownBy(() -> new SnowflakeBookingIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeBookingIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,262 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.MovieResponseDto;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDto;
+import com.att.tdp.popcorn_palace.dto.ShowtimeRequestDto;
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.MovieService;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.att.tdp.popcorn_palace.service.ShowtimeOverlapIndex;
+import com.att.tdp.popcorn_palace.service.ShowtimeService;
+import com.att.tdp.popcorn_palace.service.SoftDeletePurger;
+import com.att.tdp.popcorn_palace.service.TicketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+@SpringBootTest
+class SoftDeleteTests {
+
+    private static final String TITLE = "Soft Delete Movie";
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @SpyBean
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeOverlapIndex overlapIndex;
+
+    @Autowired
+    private BookingIdGenerator bookingIdGenerator;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SoftDeletePurger purger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        purger.purge();
+        overlapIndex.rebuild(List.of());
+    }
+
+    @Test
+    void deletedShowtime_ShouldBeHiddenFromReadsAndBookings() {
+        final Showtime showtime = seed(1, 1).get(0);
+
+        showtimeService.deleteShowtime(showtime.getId());
+
+        AppException read = assertThrows(AppException.class, () -> showtimeService.getShowtimeById(showtime.getId()));
+        assertThat(read.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        AppException booking = assertThrows(AppException.class, () -> ticketService.bookTicket(
+                new TicketRequestDto(showtime.getId(), 2, "user123")));
+        assertThat(booking.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        AppException again = assertThrows(AppException.class, () -> showtimeService.deleteShowtime(showtime.getId()));
+        assertThat(again.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+    }
+
+    @Test
+    void showtimeDeletedOnAnotherInstance_ShouldFailConfirmingAHoldTakenBefore() {
+        final Showtime showtime = seed(1, 0).get(0);
+        final SeatHoldResponseDto hold = seatHoldService.holdSeats(BatchTicketRequestDto.builder()
+                .showtimeId(showtime.getId())
+                .seatNumbers(List.of(3, 4))
+                .userId("user123")
+                .build());
+
+        // This node still holds the seats in a cached bitmap; only the database knows
+        jdbcTemplate.update("UPDATE showtimes SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", showtime.getId());
+
+        AppException confirm = assertThrows(AppException.class, () -> seatHoldService.confirmHold(hold.getHoldId()));
+        assertThat(confirm.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets", Long.class)).isZero();
+    }
+
+    @Test
+    void deletedMovie_ShouldBeHiddenFromEveryRead() {
+        seed(1, 1);
+
+        movieService.deleteMovieByTitle(TITLE);
+
+        assertThat(movieService.getAllMovies()).extracting(MovieResponseDto::getTitle).doesNotContain(TITLE);
+        final List<String> streamed = new ArrayList<>();
+        movieService.forEachMovie(movie -> streamed.add(movie.getTitle()));
+        assertThat(streamed).doesNotContain(TITLE);
+        assertThatThrownBy(() -> movieService.getMovieByTitle(TITLE)).isInstanceOf(AppException.class);
+    }
+
+    @Test
+    void deletedMovie_ShouldFreeItsTitleAndSlotsBeforeThePurge() {
+        final Showtime showtime = seed(1, 1).get(0);
+
+        movieService.deleteMovieByTitle(TITLE);
+
+        final Movie replacement = movieRepository.save(movie());
+        showtimeRepository.saveAndFlush(Showtime.builder()
+                .movieId(replacement.getId())
+                .theater(showtime.getTheater())
+                .startTime(showtime.getStartTime())
+                .endTime(showtime.getEndTime())
+                .price(30.0f)
+                .build());
+
+        purger.purge();
+
+        assertThat(movieRepository.findByTitle(TITLE)).get().extracting(Movie::getId).isEqualTo(replacement.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movies", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM showtimes", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void addShowtime_WhenTheMovieIsDeletedAfterItWasRead_ShouldRefuseTheShowtime() throws Exception {
+        final Movie movie = movieRepository.save(movie());
+        final CountDownLatch read = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        // The repository is a JDK proxy, so the spy delegates to it instead of calling a real method
+        final Answer<?> realRepository = mockingDetails(movieRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            final Object found = realRepository.answer(invocation);
+            read.countDown();
+            assertThat(proceed.await(5, TimeUnit.SECONDS)).isTrue();
+            return found;
+        }).when(movieRepository).findById(movie.getId());
+
+        // The add has found the movie; the delete commits before the add inserts its showtime
+        final CompletableFuture<?> add = CompletableFuture.runAsync(() -> showtimeService.addShowtime(
+                ShowtimeRequestDto.builder()
+                        .movieId(movie.getId())
+                        .theater("Hall 1")
+                        .startTime(LocalDateTime.of(2031, 5, 1, 10, 0))
+                        .endTime(LocalDateTime.of(2031, 5, 1, 12, 0))
+                        .price(30.0f)
+                        .build()));
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+        movieService.deleteMovieByTitle(TITLE);
+        proceed.countDown();
+
+        assertThatThrownBy(() -> add.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(AppException.class)
+                .cause().extracting(cause -> ((AppException) cause).getErrorType())
+                .isEqualTo(ErrorType.MOVIE_NOT_FOUND);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM showtimes", Long.class)).isZero();
+        assertThat(overlapIndex.findOverlap(null, "Hall 1", LocalDateTime.of(2031, 5, 1, 10, 0),
+                LocalDateTime.of(2031, 5, 1, 12, 0))).isEmpty();
+    }
+
+    @Test
+    void purge_ShouldRemoveRowsInBoundedBatchesAndResumeAfterRestart() {
+        seed(2, 3);
+        movieService.deleteMovieByTitle(TITLE);
+
+        // One round of two rows per table per run
+        final SoftDeletePurger throttled = new SoftDeletePurger(jdbcTemplate, new SimpleMeterRegistry(), 2, 1,
+                Duration.ofHours(1));
+        assertThat(throttled.purge()).isEqualTo(2);
+        assertThat(ticketRepository.count()).isEqualTo(4);
+
+        // A fresh instance has no state of its own and carries on from the deleted_at markers
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final SoftDeletePurger restarted = new SoftDeletePurger(jdbcTemplate, meterRegistry, 2, 1,
+                Duration.ofHours(1));
+        int runs = 0;
+        while (restarted.purge() > 0) {
+            runs++;
+        }
+
+        assertThat(runs).isGreaterThan(1);
+        assertThat(meterRegistry.get("purge.rows").tag("table", "tickets").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("purge.rows").tag("table", "showtimes").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("purge.rows").tag("table", "movies").counter().count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM showtimes", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movies", Long.class)).isZero();
+    }
+
+    private List<Showtime> seed(int showtimeCount, int ticketsPerShowtime) {
+        final Movie movie = movieRepository.save(movie());
+
+        final List<Showtime> showtimes = new ArrayList<>();
+        final List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < showtimeCount; i++) {
+            final LocalDateTime start = LocalDateTime.of(2031, 5, 1, 10, 0).plusDays(i);
+            final Showtime showtime = showtimeRepository.save(Showtime.builder()
+                    .movieId(movie.getId())
+                    .theater("Hall " + (i + 1))
+                    .startTime(start)
+                    .endTime(start.plusHours(2))
+                    .price(30.0f)
+                    .build());
+            showtimes.add(showtime);
+            for (int seat = 1; seat <= ticketsPerShowtime; seat++) {
+                tickets.add(Ticket.builder()
+                        .showtimeId(showtime.getId())
+                        .seatNumber(seat)
+                        .userId(UUID.randomUUID().toString())
+                        .bookingId(bookingIdGenerator.nextId())
+                        .build());
+            }
+        }
+        ticketRepository.saveAll(tickets);
+        overlapIndex.rebuild(showtimeRepository.findAllSlots());
+        return showtimes;
+    }
+
+    private static Movie movie() {
+        return Movie.builder()
+                .title(TITLE)
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2019)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.AppException;
+import com.att.tdp.popcorn_palace.Exception.ErrorType;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.SeatHoldResponseDto;
+import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.SeatHoldService;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.SnowflakeBookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TicketBookingConcurrencyTests {
+
+    private static final int CONTENDERS = 2_000;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private SeatOccupancyIndex seatIndex;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    private Movie movie;
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder()
+                .title("Concurrency Movie")
+                .genre("Thriller")
+                .duration(100)
+                .releaseYear(2021)
+                .build());
+        showtime = showtimeRepository.save(Showtime.builder()
+                .movieId(movie.getId())
+                .theater("Hall C")
+                .startTime(LocalDateTime.of(2031, 5, 1, 20, 0))
+                .endTime(LocalDateTime.of(2031, 5, 1, 22, 0))
+                .price(30.0f)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll(ticketRepository.findAll().stream()
+                .filter(ticket -> ticket.getShowtimeId().equals(showtime.getId()))
+                .toList());
+        showtimeRepository.deleteById(showtime.getId());
+        movieRepository.deleteById(movie.getId());
+        seatIndex.evict(showtime.getId());
+    }
+
+    @Test
+    void bookTicket_WithThousandsOfParallelRequestsForOneSeat_ShouldLetExactlyOneWin() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<String>> results = new ArrayList<>(CONTENDERS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONTENDERS; i++) {
+                final String userId = "user" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return ticketService.bookTicket(request(7, userId)).getBookingId();
+                }));
+            }
+            start.countDown();
+        }
+
+        int winners = 0;
+        for (Future<String> result : results) {
+            try {
+                assertThat(result.get()).isNotBlank();
+                winners++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOfSatisfying(AppException.class,
+                        ex -> assertThat(ex.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED));
+            }
+        }
+
+        assertThat(winners).isEqualTo(1);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtime.getId())).containsExactly(7);
+    }
+
+    @Test
+    void bookTicket_WhenSeatWasBookedBehindTheBitmap_ShouldBeRejectedByTheUniqueConstraint() {
+        // Hydrate the bitmap first, then book the seat directly so only the database knows about it
+        ticketService.bookTicket(request(1, "early-bird"));
+        ticketRepository.save(Ticket.builder()
+                .showtimeId(showtime.getId())
+                .seatNumber(8)
+                .userId("other-node")
+                .bookingId(new SnowflakeBookingIdGenerator(1).nextId())
+                .build());
+
+        AppException exception = assertThrows(AppException.class,
+                () -> ticketService.bookTicket(request(8, "user123")));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        assertThat(exception.getStatus().value()).isEqualTo(409);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtime.getId())).containsExactlyInAnyOrder(1, 8);
+    }
+
+    @Test
+    void bookTicket_WhenSeatWasBookedBehindTheBitmap_ShouldKeepTheSeatsOnHold() {
+        final SeatHoldResponseDto hold = seatHoldService.holdSeats(BatchTicketRequestDto.builder()
+                .showtimeId(showtime.getId())
+                .seatNumbers(List.of(5, 6))
+                .userId("holder")
+                .build());
+        ticketRepository.save(Ticket.builder()
+                .showtimeId(showtime.getId())
+                .seatNumber(8)
+                .userId("other-node")
+                .bookingId(new SnowflakeBookingIdGenerator(1).nextId())
+                .build());
+        assertThrows(AppException.class, () -> ticketService.bookTicket(request(8, "user123")));
+
+        // The conflict caught the bitmap up with the table without freeing the held seats
+        AppException exception = assertThrows(AppException.class,
+                () -> ticketService.bookTicket(request(5, "user456")));
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        assertThat(seatHoldService.confirmHold(hold.getHoldId()).getBookingIds()).hasSize(2);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtime.getId())).containsExactlyInAnyOrder(5, 6, 8);
+    }
+
+    private TicketRequestDto request(int seatNumber, String userId) {
+        return TicketRequestDto.builder()
+                .showtimeId(showtime.getId())
+                .seatNumber(seatNumber)
+                .userId(userId)
+                .build();
+    }
+}
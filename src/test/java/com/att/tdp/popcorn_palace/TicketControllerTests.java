@@ -1,6 +1,8 @@
 package com.att.tdp.popcorn_palace;
 
 import com.att.tdp.popcorn_palace.controller.TicketController;
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
 import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
 import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
 import com.att.tdp.popcorn_palace.Exception.AppException;
@@ -16,6 +18,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
         import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -88,6 +92,23 @@ class TicketControllerTests {
         verify(ticketService, never()).bookTicket(any(TicketRequestDto.class));
     }
 
+    @Test
+    void bookTicket_WithSeatNumberPastTheLimit_ShouldReturnBadRequest() throws Exception {
+        TicketRequestDto requestDto = TicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumber(Integer.MAX_VALUE)
+                .userId("user123")
+                .build();
+
+        mockMvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.seatNumber").value("Seat number must be at most 10000"));
+
+        verify(ticketService, never()).bookTicket(any(TicketRequestDto.class));
+    }
+
     @Test
     void bookTicket_WhenSeatAlreadyBooked_ShouldReturnConflict() throws Exception {
         TicketRequestDto requestDto = TicketRequestDto.builder()
@@ -108,4 +129,54 @@ class TicketControllerTests {
 
         verify(ticketService).bookTicket(any(TicketRequestDto.class));
     }
+
+    @Test
+    void batchBookings_WithValidData_ShouldReturnBookingIds() throws Exception {
+        BatchTicketRequestDto requestDto = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5))
+                .userId("user123")
+                .build();
+
+        when(ticketService.bookTickets(any(BatchTicketRequestDto.class))).thenReturn(
+                BatchTicketResponseDto.builder().bookingIds(List.of("abc-4", "abc-5")).build());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingIds[1]").value("abc-5"));
+    }
+
+    @Test
+    void batchBookings_WithNegativeSeatNumber_ShouldReturnBadRequest() throws Exception {
+        BatchTicketRequestDto requestDto = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, -5))
+                .userId("user123")
+                .build();
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(ticketService, never()).bookTickets(any(BatchTicketRequestDto.class));
+    }
+
+    @Test
+    void batchBookings_WithSeatNumberPastTheLimit_ShouldReturnBadRequest() throws Exception {
+        BatchTicketRequestDto requestDto = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, TicketRequestDto.MAX_SEAT_NUMBER + 1))
+                .userId("user123")
+                .build();
+
+        mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(ticketService, never()).bookTickets(any(BatchTicketRequestDto.class));
+    }
 }
@@ -0,0 +1,133 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.service.TicketInsertBatcher;
+import com.att.tdp.popcorn_palace.service.TicketWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketInsertBatcherTests {
+
+    @Mock
+    private TicketWriter ticketWriter;
+
+    private TicketInsertBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.stopFlusher();
+        }
+    }
+
+    @Test
+    void insert_WithConcurrentCallers_ShouldShareBatchesAndReportEachOutcome() throws Exception {
+        // A generous window so every caller below lands in the same batch or two
+        batcher = new TicketInsertBatcher(ticketWriter, Duration.ofMillis(50));
+        batcher.startFlusher();
+        List<List<Ticket>> batches = new ArrayList<>();
+        when(ticketWriter.writeAll(any())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            synchronized (batches) {
+                batches.add(tickets);
+            }
+            TicketWriter.Result[] results = new TicketWriter.Result[tickets.size()];
+            for (int i = 0; i < tickets.size(); i++) {
+                // Odd seats are taken in the database
+                results[i] = tickets.get(i).getSeatNumber() % 2 == 0
+                        ? TicketWriter.Result.INSERTED
+                        : TicketWriter.Result.SEAT_TAKEN;
+            }
+            return results;
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TicketWriter.Outcome>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int seat = 1; seat <= 100; seat++) {
+                Ticket ticket = ticket(seat);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return batcher.insert(ticket);
+                }));
+            }
+            start.countDown();
+        }
+
+        for (int seat = 1; seat <= 100; seat++) {
+            assertThat(results.get(seat - 1).get()).isEqualTo(seat % 2 == 0
+                    ? TicketWriter.Outcome.INSERTED
+                    : TicketWriter.Outcome.SEAT_TAKEN);
+        }
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(100);
+        assertThat(batches.size()).isLessThan(100);
+    }
+
+    @Test
+    void insert_WhenBatchFails_ShouldFailEveryCallerInIt() {
+        batcher = new TicketInsertBatcher(ticketWriter, Duration.ofMillis(1));
+        batcher.startFlusher();
+        when(ticketWriter.writeAll(any())).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThatThrownBy(() -> batcher.insert(ticket(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection lost");
+    }
+
+    @Test
+    void insert_WhenItsTicketAloneFails_ShouldThrowThatFailure() {
+        batcher = new TicketInsertBatcher(ticketWriter, Duration.ofMillis(1));
+        batcher.startFlusher();
+        IllegalStateException collision = new IllegalStateException("booking id collision");
+        when(ticketWriter.writeAll(any())).thenReturn(new TicketWriter.Result[]{TicketWriter.Result.failed(collision)});
+
+        assertThatThrownBy(() -> batcher.insert(ticket(1))).isSameAs(collision);
+    }
+
+    @Test
+    void insert_AfterShutdown_ShouldFailInsteadOfWaitingForever() {
+        batcher = new TicketInsertBatcher(ticketWriter, Duration.ofMillis(1));
+        batcher.startFlusher();
+        batcher.stopFlusher();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThatThrownBy(() -> batcher.insert(ticket(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Booking is shutting down"));
+        verifyNoInteractions(ticketWriter);
+    }
+
+    @Test
+    void insert_WithZeroWindow_ShouldWriteOnTheCallersThread() {
+        batcher = new TicketInsertBatcher(ticketWriter, Duration.ZERO);
+        batcher.startFlusher();
+        when(ticketWriter.writeAll(any())).thenReturn(new TicketWriter.Result[]{TicketWriter.Result.INSERTED});
+
+        assertThat(batcher.insert(ticket(1))).isEqualTo(TicketWriter.Outcome.INSERTED);
+        verify(ticketWriter).writeAll(List.of(ticket(1)));
+    }
+
+    private static Ticket ticket(int seatNumber) {
+        return Ticket.builder()
+                .showtimeId(1L)
+                .seatNumber(seatNumber)
+                .userId("user123")
+                .bookingId((long) seatNumber)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.ShowtimeNotActiveException;
+import com.att.tdp.popcorn_palace.model.Movie;
+import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.MovieRepository;
+import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.SnowflakeBookingIdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Not wrapped in a test transaction, so insertAll commits or rolls back on its own
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketRepositoryTests {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final BookingIdGenerator idGenerator = new SnowflakeBookingIdGenerator(0);
+
+    private Long movieId;
+    private Long showtimeId;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        movieId = movieRepository.save(Movie.builder()
+                .title("Ticket Repository Movie")
+                .genre("Drama")
+                .duration(90)
+                .releaseYear(2020)
+                .build()).getId();
+        showtimeId = showtimeRepository.save(Showtime.builder()
+                .movieId(movieId)
+                .theater("Hall R")
+                .startTime(LocalDateTime.of(2033, 3, 1, 18, 0))
+                .endTime(LocalDateTime.of(2033, 3, 1, 20, 0))
+                .price(30.0f)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM showtimes WHERE id = ?", showtimeId);
+        movieRepository.deleteById(movieId);
+    }
+
+    @Test
+    void insertAll_ShouldInsertEveryTicket() {
+        ticketRepository.insertAll(List.of(ticket(1), ticket(2), ticket(3)));
+
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtimeId)).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    void insertAll_WhenOneSeatIsTaken_ShouldInsertNone() {
+        ticketRepository.save(ticket(2));
+
+        assertThatThrownBy(() -> ticketRepository.insertAll(List.of(ticket(1), ticket(2), ticket(3))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtimeId)).containsExactly(2);
+    }
+
+    @Test
+    void insertAll_WhenTheShowtimeIsSoftDeleted_ShouldInsertNone() {
+        jdbcTemplate.update("UPDATE showtimes SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", showtimeId);
+
+        assertThatThrownBy(() -> ticketRepository.insertAll(List.of(ticket(1), ticket(2))))
+                .isInstanceOfSatisfying(ShowtimeNotActiveException.class,
+                        e -> assertThat(e.getShowtimeIds()).containsExactly(showtimeId));
+
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtimeId)).isEmpty();
+    }
+
+    @Test
+    void insertAll_ShouldSendRowsAsJdbcBatches() {
+        List<Ticket> tickets = IntStream.rangeClosed(1, 120).mapToObj(this::ticket).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ticketRepository.insertAll(tickets);
+
+        // One statement for the inserts plus one sequence call per 50 ids, instead of 120 INSERTs;
+        // the showtime check rides inside each INSERT
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+        assertThat(ticketRepository.findSeatNumbersByShowtimeId(showtimeId)).hasSize(120);
+    }
+
+    private Ticket ticket(int seatNumber) {
+        return Ticket.builder()
+                .showtimeId(showtimeId)
+                .seatNumber(seatNumber)
+                .userId("user123")
+                .bookingId(idGenerator.nextId())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.Exception.ShowtimeNotActiveException;
+import com.att.tdp.popcorn_palace.model.Ticket;
+import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.TicketWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketWriterTests {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private TicketWriter ticketWriter;
+
+    private final Ticket first = ticket(1);
+    private final Ticket second = ticket(2);
+    private final Ticket third = ticket(3);
+
+    @Test
+    void writeAll_WithoutConflicts_ShouldInsertTheGroupInOneBatch() {
+        assertThat(outcomes(ticketWriter.writeAll(List.of(first, second, third))))
+                .containsOnly(TicketWriter.Outcome.INSERTED);
+
+        verify(ticketRepository, times(1)).insertAll(any());
+    }
+
+    @Test
+    void writeAll_WhenOneSeatIsTaken_ShouldFailOnlyThatTicket() {
+        doAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            if (tickets.contains(second)) {
+                throw duplicateSeat();
+            }
+            return null;
+        }).when(ticketRepository).insertAll(any());
+
+        assertThat(outcomes(ticketWriter.writeAll(List.of(first, second, third)))).containsExactly(
+                TicketWriter.Outcome.INSERTED, TicketWriter.Outcome.SEAT_TAKEN, TicketWriter.Outcome.INSERTED);
+
+        verify(ticketRepository).insertAll(List.of(first));
+        verify(ticketRepository).insertAll(List.of(third));
+        assertThat(meterRegistry.get("tickets.booked").tag("kind", "single").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void writeAll_WhenAShowtimeIsNoLongerActive_ShouldRetryTheOtherShowtimesAsOneBatch() {
+        Ticket elsewhere = ticket(4);
+        elsewhere.setShowtimeId(2L);
+        doAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            if (tickets.contains(first)) {
+                throw new ShowtimeNotActiveException(Set.of(1L));
+            }
+            return null;
+        }).when(ticketRepository).insertAll(any());
+
+        assertThat(outcomes(ticketWriter.writeAll(List.of(first, elsewhere, second)))).containsExactly(
+                TicketWriter.Outcome.SHOWTIME_NOT_ACTIVE, TicketWriter.Outcome.INSERTED,
+                TicketWriter.Outcome.SHOWTIME_NOT_ACTIVE);
+
+        verify(ticketRepository).insertAll(List.of(elsewhere));
+        assertThat(meterRegistry.get("tickets.booked").tag("kind", "single").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void writeAll_WhenInsertFailsForAnotherReason_ShouldThrow() {
+        doThrow(new DataIntegrityViolationException("null value", new SQLException("null value", "23502")))
+                .when(ticketRepository).insertAll(any());
+
+        assertThatThrownBy(() -> ticketWriter.writeAll(List.of(first, second)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(ticketRepository, times(1)).insertAll(any());
+    }
+
+    @Test
+    void writeAll_WhenTheBookingIdCollides_ShouldThrowRatherThanReportATakenSeat() {
+        doThrow(duplicateKey("uk_tickets_booking_id")).when(ticketRepository).insertAll(any());
+
+        assertThatThrownBy(() -> ticketWriter.writeAll(List.of(first, second)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(ticketRepository, times(1)).insertAll(any());
+    }
+
+    @Test
+    void writeAll_WhenABookingIdCollidesAfterTheGroupSplit_ShouldFailOnlyThatTicket() {
+        DataIntegrityViolationException collision = duplicateKey("uk_tickets_booking_id");
+        doAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            if (tickets.contains(second)) {
+                throw duplicateSeat();
+            }
+            if (tickets.contains(third)) {
+                throw collision;
+            }
+            return null;
+        }).when(ticketRepository).insertAll(any());
+
+        TicketWriter.Result[] results = ticketWriter.writeAll(List.of(first, second, third));
+
+        assertThat(outcomes(results)).containsExactly(
+                TicketWriter.Outcome.INSERTED, TicketWriter.Outcome.SEAT_TAKEN, TicketWriter.Outcome.FAILED);
+        assertThat(results[2].failure()).isSameAs(collision);
+    }
+
+    private static List<TicketWriter.Outcome> outcomes(TicketWriter.Result[] results) {
+        return Arrays.stream(results).map(TicketWriter.Result::outcome).toList();
+    }
+
+    private static DataIntegrityViolationException duplicateSeat() {
+        return duplicateKey(Ticket.SEAT_CONSTRAINT);
+    }
+
+    private static DataIntegrityViolationException duplicateKey(String constraint) {
+        return new DataIntegrityViolationException("duplicate key", new SQLException(
+                "duplicate key value violates unique constraint \"" + constraint + "\"", "23505"));
+    }
+
+    private static Ticket ticket(int seatNumber) {
+        return Ticket.builder()
+                .showtimeId(1L)
+                .seatNumber(seatNumber)
+                .userId("user123")
+                .bookingId((long) seatNumber)
+                .build();
+    }
+}
@@ -1,22 +1,35 @@
 package com.att.tdp.popcorn_palace;
 
+import com.att.tdp.popcorn_palace.dto.BatchTicketRequestDto;
+import com.att.tdp.popcorn_palace.dto.BatchTicketResponseDto;
 import com.att.tdp.popcorn_palace.dto.TicketRequestDto;
 import com.att.tdp.popcorn_palace.dto.TicketResponseDto;
 import com.att.tdp.popcorn_palace.Exception.AppException;
 import com.att.tdp.popcorn_palace.Exception.ErrorType;
-import com.att.tdp.popcorn_palace.model.Showtime;
+import com.att.tdp.popcorn_palace.Exception.ShowtimeNotActiveException;
 import com.att.tdp.popcorn_palace.model.Ticket;
 import com.att.tdp.popcorn_palace.repository.ShowtimeRepository;
 import com.att.tdp.popcorn_palace.repository.TicketRepository;
+import com.att.tdp.popcorn_palace.service.BookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.SeatOccupancyIndex;
+import com.att.tdp.popcorn_palace.service.SnowflakeBookingIdGenerator;
+import com.att.tdp.popcorn_palace.service.TicketInsertBatcher;
 import com.att.tdp.popcorn_palace.service.TicketService;
+import com.att.tdp.popcorn_palace.service.TicketWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -31,6 +44,18 @@ class TicketServiceTests {
     @Mock
     private ShowtimeRepository showtimeRepository;
 
+    @Spy
+    private SeatOccupancyIndex seatIndex = new SeatOccupancyIndex(Duration.ofMinutes(30));
+
+    @Spy
+    private BookingIdGenerator bookingIdGenerator = new SnowflakeBookingIdGenerator(0);
+
+    @Mock
+    private TicketInsertBatcher ticketInsertBatcher;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -42,19 +67,17 @@ class TicketServiceTests {
                 .userId("user123")
                 .build();
 
-        Showtime showtime = new Showtime();
-        showtime.setId(1L);
-
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
-        when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 5)).thenReturn(false);
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        when(ticketInsertBatcher.insert(any(Ticket.class))).thenReturn(TicketWriter.Outcome.INSERTED);
 
         TicketResponseDto response = ticketService.bookTicket(request);
 
         assertThat(response).isNotNull();
         assertThat(response.getBookingId()).isNotBlank();
 
-        verify(showtimeRepository).findById(1L);
-        verify(ticketRepository).save(any(Ticket.class));
+        verify(showtimeRepository).existsById(1L);
+        verify(ticketInsertBatcher).insert(any(Ticket.class));
     }
 
     @Test
@@ -65,7 +88,7 @@ class TicketServiceTests {
                 .userId("user123")
                 .build();
 
-        when(showtimeRepository.findById(99L)).thenReturn(Optional.empty());
+        when(showtimeRepository.existsById(99L)).thenReturn(false);
 
         AppException exception = assertThrows(AppException.class, () -> ticketService.bookTicket(request));
 
@@ -81,15 +104,211 @@ class TicketServiceTests {
                 .userId("user123")
                 .build();
 
-        Showtime showtime = new Showtime();
-        showtime.setId(1L);
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(5));
+
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTicket(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        assertThat(exception.getStatus().value()).isEqualTo(409);
+    }
+
+    @Test
+    void bookTicket_WhenSeatTakenInMemory_ShouldRejectWithoutDatabaseLookup() {
+        TicketRequestDto request = TicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumber(5)
+                .userId("user123")
+                .build();
 
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(showtime));
-        when(ticketRepository.existsByShowtimeIdAndSeatNumber(1L, 5)).thenReturn(true);
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        when(ticketInsertBatcher.insert(any(Ticket.class))).thenReturn(TicketWriter.Outcome.INSERTED);
+
+        ticketService.bookTicket(request);
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTicket(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        verify(showtimeRepository, times(1)).existsById(1L);
+        verify(ticketRepository, times(1)).findSeatNumbersByShowtimeId(1L);
+        verify(ticketInsertBatcher, times(1)).insert(any(Ticket.class));
+    }
+
+    @Test
+    void bookTicket_WhenSeatsAreCached_ShouldNotQueryTheShowtime() {
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        when(ticketInsertBatcher.insert(any(Ticket.class))).thenReturn(TicketWriter.Outcome.INSERTED);
+
+        ticketService.bookTicket(new TicketRequestDto(1L, 5, "user123"));
+        ticketService.bookTicket(new TicketRequestDto(1L, 6, "user456"));
+
+        // Only the first booking loads the showtime's seats; the insert vouches for the showtime after that
+        verify(showtimeRepository, times(1)).existsById(1L);
+        verify(ticketInsertBatcher, times(2)).insert(any(Ticket.class));
+    }
+
+    @Test
+    void bookTicket_WhenSaveFails_ShouldReleaseSeat() {
+        TicketRequestDto request = TicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumber(5)
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        when(ticketInsertBatcher.insert(any(Ticket.class))).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> ticketService.bookTicket(request));
+
+        assertThat(seatIndex.find(1L).isTaken(5)).isFalse();
+    }
+
+    @Test
+    void bookTickets_WithFreeSeats_ShouldInsertThemInOneBatch() {
+        BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5, 6))
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+
+        BatchTicketResponseDto response = ticketService.bookTickets(request);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Ticket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ticketRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(Ticket::getSeatNumber).containsExactly(4, 5, 6);
+        assertThat(response.getBookingIds()).hasSize(3).doesNotHaveDuplicates();
+        verify(ticketInsertBatcher, never()).insert(any(Ticket.class));
+    }
+
+    @Test
+    void bookTickets_WhenOneSeatIsTaken_ShouldBookNoneAndReleaseClaimedSeats() {
+        BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5, 6))
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(5));
+
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTickets(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        assertThat(seatIndex.find(1L).isTaken(4)).isFalse();
+        assertThat(seatIndex.find(1L).isTaken(6)).isFalse();
+        verify(ticketRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void bookTickets_WhenInsertFails_ShouldReleaseEverySeat() {
+        BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5))
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        doThrow(new IllegalStateException("connection lost")).when(ticketRepository).insertAll(any());
+
+        assertThrows(IllegalStateException.class, () -> ticketService.bookTickets(request));
+
+        assertThat(seatIndex.find(1L).countTaken()).isZero();
+    }
+
+    @Test
+    void bookTickets_WithRepeatedSeat_ShouldThrowValidationError() {
+        BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 4))
+                .userId("user123")
+                .build();
+
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTickets(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.VALIDATION_ERROR);
+        verifyNoInteractions(showtimeRepository, ticketRepository);
+    }
+
+    @Test
+    void bookTicket_WhenSeatIsTakenInDatabase_ShouldThrowConflictAndCatchUpTheBitmap() {
+        TicketRequestDto request = TicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumber(5)
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(), List.of(5));
+        when(ticketInsertBatcher.insert(any(Ticket.class))).thenReturn(TicketWriter.Outcome.SEAT_TAKEN);
 
         AppException exception = assertThrows(AppException.class, () -> ticketService.bookTicket(request));
 
         assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
         assertThat(exception.getStatus().value()).isEqualTo(409);
+        assertThat(seatIndex.find(1L).isTaken(5)).isTrue();
+    }
+
+    @Test
+    void bookTickets_WhenUniqueConstraintRejectsBatch_ShouldThrowConflictAndCatchUpTheBitmap() {
+        BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5))
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of(), List.of(5));
+        doThrow(new DataIntegrityViolationException("duplicate key", new SQLException(
+                "duplicate key value violates unique constraint \"" + Ticket.SEAT_CONSTRAINT + "\"", "23505")))
+                .when(ticketRepository).insertAll(any());
+
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTickets(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SEAT_ALREADY_BOOKED);
+        assertThat(seatIndex.find(1L).isTaken(4)).isFalse();
+        assertThat(seatIndex.find(1L).isTaken(5)).isTrue();
+    }
+
+    @Test
+    void bookTicket_WhenShowtimeIsDeletedBeforeTheInsert_ShouldThrowNotFoundAndDropTheBitmap() {
+        TicketRequestDto request = TicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumber(5)
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        when(ticketInsertBatcher.insert(any(Ticket.class))).thenReturn(TicketWriter.Outcome.SHOWTIME_NOT_ACTIVE);
+
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTicket(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        assertThat(seatIndex.find(1L)).isNull();
+    }
+
+    @Test
+    void bookTickets_WhenShowtimeIsDeletedBeforeTheInsert_ShouldThrowNotFound() {
+        BatchTicketRequestDto request = BatchTicketRequestDto.builder()
+                .showtimeId(1L)
+                .seatNumbers(List.of(4, 5))
+                .userId("user123")
+                .build();
+
+        when(showtimeRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersByShowtimeId(1L)).thenReturn(List.of());
+        doThrow(new ShowtimeNotActiveException(Set.of(1L))).when(ticketRepository).insertAll(any());
+
+        AppException exception = assertThrows(AppException.class, () -> ticketService.bookTickets(request));
+
+        assertThat(exception.getErrorType()).isEqualTo(ErrorType.SHOWTIME_NOT_FOUND);
+        assertThat(seatIndex.find(1L)).isNull();
     }
 }
@@ -0,0 +1,71 @@
+package com.att.tdp.popcorn_palace;
+
+import com.att.tdp.popcorn_palace.service.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimingWheelTests {
+
+    private static final long START = 1_000_000L;
+
+    // 10 ms ticks over 8 buckets: level 0 spans 80 ms, level 1 spans 640 ms
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 8, START);
+
+    @Test
+    void advance_ShouldFireTimersOnTheFirstTickAtOrAfterTheirDeadline() {
+        wheel.schedule("a", START + 25);
+
+        assertThat(wheel.advance(START + 20)).isEmpty();
+        assertThat(wheel.advance(START + 29)).isEmpty();
+        assertThat(wheel.advance(START + 30)).containsExactly("a");
+        assertThat(wheel.advance(START + 100)).isEmpty();
+    }
+
+    @Test
+    void advance_ShouldCascadeTimersFromHigherLevels() {
+        wheel.schedule("level1", START + 300);
+        wheel.schedule("level2", START + 5_000);
+
+        assertThat(wheel.advance(START + 299)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactly("level1");
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly("level2");
+    }
+
+    @Test
+    void advance_ShouldSkipCancelledTimers() {
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", START + 50);
+        wheel.schedule("kept", START + 50);
+
+        cancelled.cancel();
+
+        assertThat(wheel.advance(START + 50)).containsExactly("kept");
+    }
+
+    @Test
+    void advance_ShouldFirePastDeadlinesOnTheNextCall() {
+        wheel.schedule("late", START - 100);
+
+        assertThat(wheel.advance(START)).containsExactly("late");
+    }
+
+    @Test
+    void advance_ShouldFireEveryTimerExactlyOnceAcrossManyRotations() {
+        List<String> fired = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            wheel.schedule("t" + i, START + i * 7L);
+        }
+
+        for (long now = START; now <= START + 15_000; now += 13) {
+            fired.addAll(wheel.advance(now));
+        }
+
+        assertThat(fired).hasSize(2_000).doesNotHaveDuplicates();
+        assertThat(fired.get(0)).isEqualTo("t1");
+        assertThat(fired.get(1_999)).isEqualTo("t2000");
+    }
+}
@@ -0,0 +1,72 @@
+package com.att.tdp.popcorn_palace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@AutoConfigureMockMvc
+class VirtualThreadModeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void requests_ShouldPassTheAdmissionLimiter() throws Exception {
+        mockMvc.perform(get("/movies/all")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("http.server.requests.admission.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    void streamedRequests_ShouldGiveTheirPermitBackAfterTheAsyncDispatch() throws Exception {
+        final double available = meterRegistry.get("http.server.requests.admission.available").gauge().value();
+
+        for (int i = 0; i < 3; i++) {
+            final MvcResult result = mockMvc.perform(get("/movies/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+
+        assertThat(meterRegistry.get("http.server.requests.admission.available").gauge().value())
+                .isEqualTo(available);
+    }
+
+    @Test
+    void pinnedVirtualThread_ShouldBeRecordedByTheMonitor() throws Exception {
+        final Object monitor = new Object();
+
+        // Sleeping inside synchronized keeps the carrier thread for the whole sleep
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // JFR hands events to the stream about once a second
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (meterRegistry.get("virtual.threads.pinned").timer().count() == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(meterRegistry.get("virtual.threads.pinned").timer().count()).isPositive();
+    }
+}
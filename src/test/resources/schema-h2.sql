@@ -0,0 +1,19 @@
+-- H2 has neither range types nor exclusion constraints; a row trigger enforces the same rule
+CREATE TRIGGER IF NOT EXISTS showtimes_no_overlap_insert BEFORE INSERT ON showtimes
+    FOR EACH ROW CALL 'com.att.tdp.popcorn_palace.ShowtimeOverlapTrigger';
+CREATE TRIGGER IF NOT EXISTS showtimes_no_overlap_update BEFORE UPDATE ON showtimes
+    FOR EACH ROW CALL 'com.att.tdp.popcorn_palace.ShowtimeOverlapTrigger';
+
+-- Tickets only for showtimes that are not deleted, as schema-postgresql.sql enforces
+CREATE TRIGGER IF NOT EXISTS tickets_require_active_showtime BEFORE INSERT ON tickets
+    FOR EACH ROW CALL 'com.att.tdp.popcorn_palace.ActiveShowtimeTrigger';
+
+-- Showtimes only for movies that are not deleted, likewise
+CREATE TRIGGER IF NOT EXISTS showtimes_require_active_movie_insert BEFORE INSERT ON showtimes
+    FOR EACH ROW CALL 'com.att.tdp.popcorn_palace.ActiveMovieTrigger';
+CREATE TRIGGER IF NOT EXISTS showtimes_require_active_movie_update BEFORE UPDATE ON showtimes
+    FOR EACH ROW CALL 'com.att.tdp.popcorn_palace.ActiveMovieTrigger';
+
+-- The catalog ETag counter, seeded as in schema-postgresql.sql
+INSERT INTO catalog_versions (name, version)
+    SELECT 'movies', 0 WHERE NOT EXISTS (SELECT 1 FROM catalog_versions WHERE name = 'movies');